@@ -0,0 +1,31 @@
+package com.example.accounts.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate settings for JDBC batching.
+ * Inserts and updates are ordered by entity so consecutive statements share one batch;
+ * entities with sequence-generated ids (depreciation, monthly usage) are then sent in batches
+ * of the configured size instead of one round-trip per row.
+ * On MySQL, add rewriteBatchedStatements=true to the JDBC URL to turn a batch into multi-row inserts.
+ */
+@Configuration
+public class HibernateBatchConfig {
+
+    @Value("${fixed-assets.jdbc.batch-size:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.accounts.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled tasks such as the period-end depreciation scheduler
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,33 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.BulkPostingResponse;
+import com.example.accounts.entity.enums.PostingDocumentType;
+import com.example.accounts.service.BulkPostingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * REST Controller for posting fixed asset documents in bulk
+ */
+@RestController
+@RequestMapping("/api/fixed-assets/posting")
+@RequiredArgsConstructor
+@Tag(name = "Bulk Posting", description = "Post the backlog of unposted fixed asset documents")
+public class BulkPostingController {
+
+    private final BulkPostingService bulkPostingService;
+
+    @PostMapping("/post-all")
+    @Operation(summary = "Post all unposted documents", description = "Post all unposted entries, capital improvements, parameter changes, write-offs, sale preparations and sales (or only the given types) in dependency order, committed in chunks")
+    public ResponseEntity<BulkPostingResponse> postAllUnposted(
+            @RequestParam(required = false) Set<PostingDocumentType> types,
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        BulkPostingResponse response = bulkPostingService.postAllUnposted(types, chunkSize);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.BatchDepreciationRequest;
+import com.example.accounts.dto.BatchDepreciationResponse;
+import com.example.accounts.dto.DepreciationPostingResponse;
+import com.example.accounts.dto.DepreciationPreviewResponse;
+import com.example.accounts.dto.DepreciationRunResponse;
 import com.example.accounts.entity.FixedAssetDepreciation;
+import com.example.accounts.service.DepreciationPreviewService;
 import com.example.accounts.service.DepreciationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,6 +29,7 @@ import java.util.List;
 public class DepreciationController {
 
     private final DepreciationService depreciationService;
+    private final DepreciationPreviewService previewService;
 
     @PostMapping("/calculate")
     @Operation(summary = "Calculate depreciation", description = "Calculate depreciation for a specific asset and period")
@@ -41,6 +48,70 @@ public class DepreciationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(depreciations);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Calculate batch depreciation", description = "Calculate depreciation for the assets of a department, expense item and/or business activity; with manual processing the lines are previewed without saving")
+    public ResponseEntity<BatchDepreciationResponse> calculateBatchDepreciation(
+            @RequestBody BatchDepreciationRequest request,
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        BatchDepreciationResponse response = depreciationService.calculateBatchDepreciation(request, chunkSize);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/calculate-monthly/parallel")
+    @Operation(summary = "Calculate monthly depreciation in parallel", description = "Split assets needing depreciation into id-range partitions and process them on parallel workers, one transaction per partition")
+    public ResponseEntity<DepreciationRunResponse> calculateMonthlyDepreciationParallel(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "4") int workers,
+            @RequestParam(required = false) Integer partitions) {
+        DepreciationRunResponse run = depreciationService.calculateMonthlyDepreciationParallel(
+                period, workers, partitions != null ? partitions : workers);
+        return ResponseEntity.status(HttpStatus.CREATED).body(run);
+    }
+
+    @PostMapping("/calculate-monthly/bulk")
+    @Operation(summary = "Calculate monthly depreciation in bulk", description = "Depreciate straight-line assets with set-based SQL and the remaining assets one by one")
+    public ResponseEntity<DepreciationRunResponse> calculateMonthlyDepreciationBulk(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period) {
+        DepreciationRunResponse run = depreciationService.calculateMonthlyDepreciationBulk(period);
+        return ResponseEntity.status(HttpStatus.CREATED).body(run);
+    }
+
+    @PostMapping("/calculate-monthly/streaming")
+    @Operation(summary = "Calculate monthly depreciation with bounded memory", description = "Depreciate all active assets page by page and return a compact summary instead of every record")
+    public ResponseEntity<DepreciationRunResponse> calculateMonthlyDepreciationStreaming(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "500") int flushInterval) {
+        DepreciationRunResponse run = depreciationService.calculateMonthlyDepreciationStreaming(period, flushInterval);
+        return ResponseEntity.status(HttpStatus.CREATED).body(run);
+    }
+
+    @GetMapping("/preview")
+    @Operation(summary = "Preview monthly depreciation", description = "Calculate what the month-end run would produce, by department and class, without writing anything")
+    public ResponseEntity<DepreciationPreviewResponse> previewMonthlyDepreciation(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "4") int workers) {
+        DepreciationPreviewResponse preview = previewService.previewMonthlyDepreciation(period, workers);
+        return ResponseEntity.ok(preview);
+    }
+
+    @PostMapping("/catch-up")
+    @Operation(summary = "Catch up depreciation for all assets", description = "Create every missing monthly depreciation record up to the target period for all active assets, in batches")
+    public ResponseEntity<DepreciationRunResponse> catchUpDepreciationForPortfolio(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetPeriod,
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        DepreciationRunResponse run = depreciationService.catchUpDepreciationForPortfolio(targetPeriod, chunkSize);
+        return ResponseEntity.status(HttpStatus.CREATED).body(run);
+    }
+
+    @PostMapping("/asset/{assetId}/catch-up")
+    @Operation(summary = "Catch up depreciation for an asset", description = "Create every missing monthly depreciation record of an asset up to the target period")
+    public ResponseEntity<List<FixedAssetDepreciation>> catchUpDepreciation(
+            @PathVariable Long assetId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetPeriod) {
+        List<FixedAssetDepreciation> depreciations = depreciationService.catchUpDepreciation(assetId, targetPeriod);
+        return ResponseEntity.status(HttpStatus.CREATED).body(depreciations);
+    }
+
     @PostMapping("/{depreciationId}/post")
     @Operation(summary = "Post depreciation", description = "Post depreciation to GL (create journal entry)")
     public ResponseEntity<Void> postDepreciation(@PathVariable Long depreciationId) {
@@ -48,6 +119,15 @@ public class DepreciationController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/period/{period}/post")
+    @Operation(summary = "Post depreciation for a period", description = "Post all unposted depreciation of a period to GL as one journal entry summarized by GL accounts and department")
+    public ResponseEntity<DepreciationPostingResponse> postDepreciationForPeriod(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "system") String postedBy) {
+        DepreciationPostingResponse response = depreciationService.postDepreciationForPeriod(period, postedBy);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/asset/{assetId}")
     @Operation(summary = "Get depreciation history", description = "Get depreciation history for an asset")
     public ResponseEntity<List<FixedAssetDepreciation>> getDepreciationHistory(@PathVariable Long assetId) {
@@ -0,0 +1,71 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.DepreciationJobProgress;
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.service.DepreciationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for background Depreciation Jobs
+ */
+@RestController
+@RequestMapping("/api/depreciation/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Depreciation Jobs", description = "Run month-end depreciation in the background with live progress")
+public class DepreciationJobController {
+
+    private final DepreciationJobService jobService;
+
+    @PostMapping
+    @Operation(summary = "Submit depreciation job", description = "Start a depreciation run for a period in the background and return its id at once")
+    public ResponseEntity<DepreciationJobProgress> submitJob(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        DepreciationJobProgress job = jobService.submitJob(period, chunkSize);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @PostMapping("/{runId}/resume")
+    @Operation(summary = "Resume depreciation job", description = "Resume an unfinished depreciation run in the background from its last checkpoint")
+    public ResponseEntity<DepreciationJobProgress> resumeJob(@PathVariable Long runId) {
+        DepreciationJobProgress job = jobService.resumeJob(runId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @PostMapping("/{runId}/cancel")
+    @Operation(summary = "Cancel depreciation job", description = "Stop a running depreciation job after the chunk in progress; it can be resumed later")
+    public ResponseEntity<DepreciationJobProgress> cancelJob(@PathVariable Long runId) {
+        DepreciationJobProgress job = jobService.cancelJob(runId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get job progress", description = "Get processed and failed counts, throughput and ETA of a depreciation job")
+    public ResponseEntity<DepreciationJobProgress> getProgress(@PathVariable Long runId) {
+        DepreciationJobProgress job = jobService.getProgress(runId);
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping(value = "/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream job progress", description = "Server-sent events with the progress of a depreciation job after every chunk, until it ends")
+    public SseEmitter streamProgress(@PathVariable Long runId) {
+        return jobService.subscribe(runId);
+    }
+
+    @GetMapping("/{runId}/result")
+    @Operation(summary = "Get job result", description = "Get the compact summary of a finished depreciation job")
+    public ResponseEntity<DepreciationRunResponse> getResult(@PathVariable Long runId) {
+        DepreciationRunResponse result = jobService.getResult(runId);
+        return ResponseEntity.ok(result);
+    }
+}
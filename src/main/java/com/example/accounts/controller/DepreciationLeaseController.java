@@ -0,0 +1,44 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.entity.FixedAssetDepreciationLease;
+import com.example.accounts.service.DepreciationLeaseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for cluster-coordinated Depreciation Runs
+ */
+@RestController
+@RequestMapping("/api/depreciation/leases")
+@RequiredArgsConstructor
+@Tag(name = "Depreciation Leases", description = "Share a month-end depreciation run between application nodes through leased partitions")
+public class DepreciationLeaseController {
+
+    private final DepreciationLeaseService leaseService;
+
+    @PostMapping
+    @Operation(summary = "Join leased depreciation run", description = "Claim and process partitions of a period's depreciation until none is left; call on every node to share the run")
+    public ResponseEntity<DepreciationRunResponse> runLeased(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "5000") int partitionSize,
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        DepreciationRunResponse response = leaseService.runLeased(period, partitionSize, chunkSize);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get depreciation partitions", description = "Get the partitions of a period with their lease owner, expiry and checkpoint")
+    public ResponseEntity<List<FixedAssetDepreciationLease>> getLeases(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period) {
+        List<FixedAssetDepreciationLease> leases = leaseService.getLeases(period);
+        return ResponseEntity.ok(leases);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.entity.FixedAssetDepreciationRun;
+import com.example.accounts.entity.FixedAssetDepreciationRunError;
+import com.example.accounts.service.DepreciationRunService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for registered, resumable Depreciation Runs
+ */
+@RestController
+@RequestMapping("/api/depreciation/runs")
+@RequiredArgsConstructor
+@Tag(name = "Depreciation Runs", description = "Start, resume and monitor checkpointed month-end depreciation runs")
+public class DepreciationRunController {
+
+    private final DepreciationRunService runService;
+
+    @PostMapping
+    @Operation(summary = "Start depreciation run", description = "Start a registered depreciation run for a period, committed in resumable chunks")
+    public ResponseEntity<FixedAssetDepreciationRun> startRun(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestParam(defaultValue = "500") int chunkSize) {
+        FixedAssetDepreciationRun run = runService.startRun(period, chunkSize);
+        return ResponseEntity.status(HttpStatus.CREATED).body(run);
+    }
+
+    @PostMapping("/{runId}/resume")
+    @Operation(summary = "Resume depreciation run", description = "Resume an unfinished depreciation run from its first unprocessed chunk")
+    public ResponseEntity<FixedAssetDepreciationRun> resumeRun(@PathVariable Long runId) {
+        FixedAssetDepreciationRun run = runService.resumeRun(runId);
+        return ResponseEntity.ok(run);
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get depreciation run", description = "Get status, counters and checkpoint of a depreciation run")
+    public ResponseEntity<FixedAssetDepreciationRun> getRunById(@PathVariable Long runId) {
+        FixedAssetDepreciationRun run = runService.getRunById(runId);
+        return ResponseEntity.ok(run);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get depreciation runs by period", description = "Get all depreciation runs for a specific period")
+    public ResponseEntity<List<FixedAssetDepreciationRun>> getRunsByPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period) {
+        List<FixedAssetDepreciationRun> runs = runService.getRunsByPeriod(period);
+        return ResponseEntity.ok(runs);
+    }
+
+    @GetMapping("/{runId}/errors")
+    @Operation(summary = "Get depreciation run errors", description = "Get the assets that failed in a depreciation run")
+    public ResponseEntity<List<FixedAssetDepreciationRunError>> getRunErrors(@PathVariable Long runId) {
+        List<FixedAssetDepreciationRunError> errors = runService.getRunErrors(runId);
+        return ResponseEntity.ok(errors);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.DepreciationBacklogResponse;
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.service.DepreciationSchedulerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for due-date driven Depreciation
+ */
+@RestController
+@RequestMapping("/api/depreciation/schedule")
+@RequiredArgsConstructor
+@Tag(name = "Depreciation Schedule", description = "Period-end depreciation of the assets whose next depreciation date is due")
+public class DepreciationScheduleController {
+
+    private final DepreciationSchedulerService schedulerService;
+
+    @GetMapping("/backlog")
+    @Operation(summary = "Get due depreciation backlog", description = "Get the number of assets due by the last closed period, the earliest due date and the last scheduled run")
+    public ResponseEntity<DepreciationBacklogResponse> getBacklog() {
+        DepreciationBacklogResponse backlog = schedulerService.getBacklog();
+        return ResponseEntity.ok(backlog);
+    }
+
+    @PostMapping("/run")
+    @Operation(summary = "Run due depreciation", description = "Catch up depreciation now for every asset due by a period, by default the last closed period")
+    public ResponseEntity<DepreciationRunResponse> runDue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period) {
+        DepreciationRunResponse response = schedulerService.runDue(period);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,14 +1,30 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.DepreciationForecastResponse;
 import com.example.accounts.dto.DepreciationScheduleDTO;
+import com.example.accounts.dto.DepreciationStatementResponse;
 import com.example.accounts.dto.FixedAssetSummaryDTO;
+import com.example.accounts.dto.FixedAssetTotalsVerificationResponse;
+import com.example.accounts.dto.ReportCacheStatsResponse;
+import com.example.accounts.service.DepreciationForecastService;
+import com.example.accounts.service.DepreciationProjectionService;
 import com.example.accounts.service.FixedAssetReportService;
+import com.example.accounts.service.FixedAssetTotalsService;
+import com.example.accounts.service.ReportExportService;
+import com.example.accounts.service.report.ExportFormat;
+import com.example.accounts.service.report.ReportCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,6 +37,11 @@ import java.util.List;
 public class FixedAssetReportController {
 
     private final FixedAssetReportService reportService;
+    private final DepreciationForecastService forecastService;
+    private final DepreciationProjectionService projectionService;
+    private final FixedAssetTotalsService totalsService;
+    private final ReportExportService exportService;
+    private final ReportCache reportCache;
 
     @GetMapping("/summary")
     @Operation(summary = "Get summary dashboard", description = "Get comprehensive summary of all fixed assets")
@@ -29,6 +50,33 @@ public class FixedAssetReportController {
         return ResponseEntity.ok(summary);
     }
 
+    @GetMapping("/totals/verification")
+    @Operation(summary = "Verify portfolio totals", description = "Recompute the totals by status, class and department from the assets and report any drift of the maintained totals")
+    public ResponseEntity<FixedAssetTotalsVerificationResponse> verifyTotals() {
+        FixedAssetTotalsVerificationResponse verification = totalsService.verify();
+        return ResponseEntity.ok(verification);
+    }
+
+    @PostMapping("/totals/repair")
+    @Operation(summary = "Repair portfolio totals", description = "Verify the maintained totals and rebuild them from the assets if they drifted")
+    public ResponseEntity<FixedAssetTotalsVerificationResponse> repairTotals() {
+        FixedAssetTotalsVerificationResponse verification = totalsService.repair();
+        return ResponseEntity.ok(verification);
+    }
+
+    @GetMapping("/cache")
+    @Operation(summary = "Get report cache statistics", description = "Get size, hit, miss, eviction and invalidation counters of the report cache")
+    public ResponseEntity<ReportCacheStatsResponse> getReportCacheStats() {
+        return ResponseEntity.ok(reportCache.getStats());
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "Clear report cache", description = "Drop all cached reports")
+    public ResponseEntity<Void> clearReportCache() {
+        reportCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/depreciation-schedule")
     @Operation(summary = "Get depreciation schedule", description = "Get depreciation schedule for all active assets")
     public ResponseEntity<List<DepreciationScheduleDTO>> getDepreciationSchedule() {
@@ -44,12 +92,42 @@ public class FixedAssetReportController {
     }
 
     @GetMapping("/depreciation-statement")
-    @Operation(summary = "Get statement of depreciation", description = "Get comprehensive depreciation statement grouped by department")
-    public ResponseEntity<List<com.example.accounts.dto.DepreciationStatementDTO>> getDepreciationStatement() {
-        List<com.example.accounts.dto.DepreciationStatementDTO> statement = reportService.getDepreciationStatement();
+    @Operation(summary = "Get statement of depreciation", description = "Get depreciation statement for a period range (default: current month), grouped and subtotalled by department")
+    public ResponseEntity<DepreciationStatementResponse> getDepreciationStatement(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromPeriod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toPeriod) {
+        LocalDate currentPeriod = LocalDate.now().withDayOfMonth(1);
+        DepreciationStatementResponse statement = reportService.getDepreciationStatement(
+                fromPeriod != null ? fromPeriod : currentPeriod, toPeriod != null ? toPeriod : currentPeriod);
         return ResponseEntity.ok(statement);
     }
 
+    /**
+     * Written synchronously to the servlet response rather than returned as a body, so that a long export
+     * streams for as long as it takes without an async request timeout
+     */
+    @GetMapping("/depreciation-statement/export")
+    @Operation(summary = "Export statement of depreciation", description = "Stream the depreciation statement lines for a period range (default: current month) as CSV or XLSX, optionally gzip-encoded")
+    public void exportDepreciationStatement(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromPeriod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toPeriod,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        LocalDate currentPeriod = LocalDate.now().withDayOfMonth(1);
+        LocalDate from = fromPeriod != null ? fromPeriod : currentPeriod;
+        LocalDate to = toPeriod != null ? toPeriod : currentPeriod;
+        exportService.checkStatementExport(from, to, format);
+
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(exportService.statementFileName(from, to, format)).build().toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        exportService.exportDepreciationStatement(from, to, format, gzip, response.getOutputStream());
+    }
+
     @GetMapping("/document-expirations")
     @Operation(summary = "Get document expirations", description = "Get assets with expiring documents (insurance, certificates, maintenance)")
     public ResponseEntity<List<com.example.accounts.dto.AssetDocumentExpirationDTO>> getDocumentExpirations(
@@ -59,4 +137,30 @@ public class FixedAssetReportController {
                 .getDocumentExpirations(date);
         return ResponseEntity.ok(expirations);
     }
+
+    @GetMapping("/depreciation-forecast")
+    @Operation(summary = "Get depreciation forecast", description = "Project monthly depreciation of all active assets for the coming months, by period, department and class")
+    public ResponseEntity<DepreciationForecastResponse> getDepreciationForecast(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromPeriod,
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(defaultValue = "4") int workers) {
+        LocalDate from = fromPeriod != null ? fromPeriod : LocalDate.now();
+        DepreciationForecastResponse forecast = forecastService.forecastDepreciation(from, months, workers);
+        return ResponseEntity.ok(forecast);
+    }
+
+    @GetMapping("/depreciation-projection")
+    @Operation(summary = "Get maintained depreciation projection", description = "Get the in-memory depreciation projection from the current month, kept current as parameter changes are posted and rebuilt after other changes to assets")
+    public ResponseEntity<DepreciationForecastResponse> getDepreciationProjection(
+            @RequestParam(defaultValue = "12") int months) {
+        DepreciationForecastResponse projection = projectionService.getProjection(months);
+        return ResponseEntity.ok(projection);
+    }
+
+    @PostMapping("/depreciation-projection/rebuild")
+    @Operation(summary = "Rebuild depreciation projection", description = "Project all active assets again")
+    public ResponseEntity<DepreciationForecastResponse> rebuildDepreciationProjection() {
+        DepreciationForecastResponse projection = projectionService.rebuild();
+        return ResponseEntity.ok(projection);
+    }
 }
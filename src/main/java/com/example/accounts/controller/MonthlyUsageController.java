@@ -1,5 +1,6 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.MonthlyUsageRequest;
 import com.example.accounts.entity.FixedAssetMonthlyUsage;
 import com.example.accounts.service.MonthlyUsageService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +36,15 @@ public class MonthlyUsageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(usage);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Record usage in batch", description = "Record monthly usage for many assets for one period in a single request")
+    public ResponseEntity<List<FixedAssetMonthlyUsage>> recordUsageBatch(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate period,
+            @RequestBody List<MonthlyUsageRequest> requests) {
+        List<FixedAssetMonthlyUsage> usage = usageService.recordUsageBatch(period, requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(usage);
+    }
+
     @PostMapping("/{usageId}/process")
     @Operation(summary = "Process usage", description = "Mark usage as processed (ready for depreciation)")
     public ResponseEntity<Void> processUsage(@PathVariable Long usageId) {
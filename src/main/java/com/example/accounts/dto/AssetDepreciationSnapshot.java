@@ -0,0 +1,38 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the fields of an asset needed to calculate its depreciation,
+ * loaded without managed entities or associations
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetDepreciationSnapshot {
+
+    private Long fixedAssetId;
+    private String assetNumber;
+    private String department;
+    private String className;
+    private DepreciationMethod depreciationMethod;
+
+    // Financial details
+    private BigDecimal initialCost;
+    private BigDecimal costAdjustment;
+    private BigDecimal accumulatedDepreciation;
+    private BigDecimal salvageValue;
+
+    // Depreciation parameters
+    private Integer usefulLifeMonths;
+    private Integer totalUnits;
+    private Integer remainingUnits;
+    private LocalDate depreciationStartDate;
+    private LocalDate lastDepreciationDate;
+}
@@ -0,0 +1,30 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for posting all unposted fixed asset documents
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPostingResponse {
+
+    private Integer chunkSize;
+
+    // Totals
+    private Integer documentCount;
+    private Integer postedCount;
+    private Integer failedCount;
+
+    // Throughput
+    private Long elapsedMillis;
+    private Double documentsPerSecond;
+
+    private List<BulkPostingTypeResponse> types;
+    private List<String> failures;
+}
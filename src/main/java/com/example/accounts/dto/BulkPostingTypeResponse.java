@@ -0,0 +1,27 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.PostingDocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one document type of a bulk posting run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPostingTypeResponse {
+
+    private PostingDocumentType documentType;
+
+    // Counters
+    private Integer documentCount;
+    private Integer postedCount;
+    private Integer failedCount;
+    private Integer chunkCount;
+
+    // Throughput
+    private Long elapsedMillis;
+    private Double documentsPerSecond;
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the due depreciation backlog and the last scheduled run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationBacklogResponse {
+
+    // Most recently closed period the backlog is measured against
+    private LocalDate targetPeriod;
+    private Long dueAssetCount;
+    private LocalDate earliestDueDate;
+
+    private Boolean running;
+    private LocalDateTime lastRunAt;
+    private DepreciationRunResponse lastRun;
+}
@@ -0,0 +1,23 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one line of the Depreciation Forecast: projected expense of a department and class in a period
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationForecastLineDTO {
+
+    private LocalDate period;
+    private String department;
+    private String className;
+    private Integer assetCount;
+    private BigDecimal projectedDepreciation;
+}
@@ -0,0 +1,32 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the Depreciation Forecast of the active portfolio
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationForecastResponse {
+
+    private LocalDate firstPeriod;
+    private LocalDate lastPeriod;
+    private Integer months;
+    private Integer assetCount;
+    private Long elapsedMillis;
+
+    // Totals
+    private BigDecimal totalProjectedDepreciation;
+    private Map<LocalDate, BigDecimal> totalsByPeriod;
+
+    // Projected expense by period, department and class
+    private List<DepreciationForecastLineDTO> lines;
+}
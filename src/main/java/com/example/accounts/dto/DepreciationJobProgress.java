@@ -0,0 +1,34 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DepreciationRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of a background depreciation job, as returned by the job API and streamed as server-sent events
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationJobProgress {
+
+    private Long runId;
+    private LocalDate period;
+    private DepreciationRunStatus status;
+
+    // Counters
+    private Integer totalAssets;
+    private Integer processedCount;
+    private Integer successCount;
+    private Integer errorCount;
+
+    // Throughput
+    private Long elapsedMillis;
+    private Double assetsPerSecond;
+    private Long etaSeconds;
+
+    private String failureReason;
+}
@@ -0,0 +1,32 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for one partition of a depreciation run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationPartitionResponse {
+
+    private Integer partitionNumber;
+
+    // Asset id range (inclusive)
+    private Long firstAssetId;
+    private Long lastAssetId;
+
+    // Counters
+    private Integer assetCount;
+    private Integer successCount;
+    private Integer errorCount;
+    private BigDecimal depreciationAmount;
+
+    // Throughput
+    private Long elapsedMillis;
+    private Double assetsPerSecond;
+}
@@ -0,0 +1,30 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response DTO for posting all depreciation of a period to GL in one journal entry
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationPostingResponse {
+
+    private LocalDate period;
+
+    // Journal entry
+    private Long journalEntryId;
+    private String entryNumber;
+    private Integer lineCount;
+
+    // Depreciation posted
+    private Integer postedCount;
+    private BigDecimal totalAmount;
+
+    private Long elapsedMillis;
+}
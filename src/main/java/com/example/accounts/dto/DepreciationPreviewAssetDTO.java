@@ -0,0 +1,23 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for an asset a previewed depreciation run would make FULLY_DEPRECIATED
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationPreviewAssetDTO {
+
+    private Long fixedAssetId;
+    private String assetNumber;
+    private String department;
+    private String className;
+    private BigDecimal depreciationAmount;
+    private BigDecimal closingNetBookValue;
+}
@@ -0,0 +1,34 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for a depreciation run preview: what the run would produce, without writing anything
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationPreviewResponse {
+
+    private LocalDate period;
+    private Integer workers;
+    private Long elapsedMillis;
+
+    // Totals
+    private Integer totalAssets;
+    private Integer successCount;
+    private Integer errorCount;
+    private BigDecimal totalDepreciationAmount;
+
+    // Depreciation by department and class
+    private List<DepreciationForecastLineDTO> lines;
+
+    private List<DepreciationPreviewAssetDTO> fullyDepreciatedAssets;
+    private List<String> errors;
+}
@@ -0,0 +1,37 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DepreciationRunMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for a month-end depreciation run summary
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationRunResponse {
+
+    private LocalDate period;
+    private DepreciationRunMode mode;
+    private Integer workers;
+
+    // Totals
+    private Integer totalAssets;
+    private Integer successCount;
+    private Integer errorCount;
+    private BigDecimal totalDepreciationAmount;
+    private Integer depreciationRowsCreated;
+
+    // Throughput
+    private Long elapsedMillis;
+    private Double assetsPerSecond;
+
+    private List<DepreciationPartitionResponse> partitions;
+    private List<String> errors;
+}
@@ -0,0 +1,19 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An asset selected by a filtered batch depreciation run, with the classification it was matched on
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationSliceAsset {
+
+    private Long fixedAssetId;
+    private String expenseItem;
+    private String businessActivity;
+    private String assetDescription;
+}
@@ -0,0 +1,30 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One department of the Statement of Depreciation: its asset lines and their subtotals
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationStatementDepartmentDTO {
+
+    private String department;
+    private Integer assetCount = 0;
+
+    // Subtotals
+    private BigDecimal grossCost = BigDecimal.ZERO;
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+    private BigDecimal depreciationChanges = BigDecimal.ZERO;
+    private BigDecimal closingBalance = BigDecimal.ZERO;
+    private BigDecimal netBookValue = BigDecimal.ZERO;
+
+    private List<DepreciationStatementDTO> assets = new ArrayList<>();
+}
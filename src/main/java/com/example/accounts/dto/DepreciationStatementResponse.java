@@ -0,0 +1,32 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for the Statement of Depreciation of a period range, grouped and subtotalled by department
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepreciationStatementResponse {
+
+    private LocalDate fromPeriod;
+    private LocalDate toPeriod;
+    private Integer assetCount = 0;
+
+    // Totals
+    private BigDecimal totalGrossCost = BigDecimal.ZERO;
+    private BigDecimal totalOpeningBalance = BigDecimal.ZERO;
+    private BigDecimal totalDepreciationChanges = BigDecimal.ZERO;
+    private BigDecimal totalClosingBalance = BigDecimal.ZERO;
+    private BigDecimal totalNetBookValue = BigDecimal.ZERO;
+
+    private List<DepreciationStatementDepartmentDTO> departments = new ArrayList<>();
+}
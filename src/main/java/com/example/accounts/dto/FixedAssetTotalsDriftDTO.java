@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Difference between the maintained totals of one status, class and department group
+ * and the totals recomputed from the assets (maintained minus recomputed)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixedAssetTotalsDriftDTO {
+
+    private String status;
+    private Long classId;
+    private String department;
+
+    private long assetCountDrift;
+    private BigDecimal grossCostDrift;
+    private BigDecimal accumulatedDepreciationDrift;
+    private BigDecimal salvageValueDrift;
+}
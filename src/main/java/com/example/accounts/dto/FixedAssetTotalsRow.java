@@ -0,0 +1,27 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Asset count and value totals of one status, class and department group of the portfolio,
+ * or a delta to such a group. Assets without a department are grouped under an empty department.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixedAssetTotalsRow {
+
+    private String status;
+    private Long classId;
+    private String department;
+
+    // Totals
+    private long assetCount;
+    private BigDecimal grossCost;
+    private BigDecimal accumulatedDepreciation;
+    private BigDecimal salvageValue;
+}
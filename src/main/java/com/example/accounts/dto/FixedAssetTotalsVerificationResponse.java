@@ -0,0 +1,23 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for a verification of the maintained portfolio totals against the assets
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixedAssetTotalsVerificationResponse {
+
+    private LocalDateTime verifiedAt;
+    private Integer groupCount;
+    private Integer driftCount;
+    private Boolean repaired;
+    private List<FixedAssetTotalsDriftDTO> drifts;
+}
@@ -0,0 +1,28 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the size and hit, miss and eviction counters of the report cache
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCacheStatsResponse {
+
+    private Boolean enabled;
+    private Integer size;
+    private Integer maxEntries;
+    private Integer maxLineEntries;
+    private Long ttlSeconds;
+
+    // Counters since startup
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long evictions;
+    private Long expirations;
+    private Long invalidations;
+}
@@ -158,6 +158,11 @@ public class FixedAsset {
     @Column(name = "use_scheduling")
     private Boolean useScheduling = false;
 
+    // Optimistic locking: concurrent read-modify-write of the same asset fails instead of losing an update
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
     // Audit fields
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
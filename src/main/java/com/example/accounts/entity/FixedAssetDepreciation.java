@@ -21,8 +21,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class FixedAssetDepreciation {
 
+    /**
+     * Ids are drawn from fixed_asset_depreciation_seq in blocks of this size so inserts can be JDBC-batched
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fixed_asset_depreciation_seq")
+    @SequenceGenerator(name = "fixed_asset_depreciation_seq", sequenceName = "fixed_asset_depreciation_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "depreciation_id")
     private Long depreciationId;
 
@@ -0,0 +1,85 @@
+package com.example.accounts.entity;
+
+import com.example.accounts.entity.enums.DepreciationLeaseStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one asset id-range partition of a cluster-coordinated Depreciation Run.
+ * A node works on a partition while it holds an unexpired lease on it; the last processed asset id
+ * is the checkpoint another node resumes from when the lease expires.
+ */
+@Entity
+@Table(name = "fixed_asset_depreciation_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixedAssetDepreciationLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    @Column(name = "depreciation_period", nullable = false)
+    private LocalDate depreciationPeriod;
+
+    // Partition (asset id range, inclusive)
+    @Column(name = "partition_number", nullable = false)
+    private Integer partitionNumber;
+
+    @Column(name = "first_asset_id", nullable = false)
+    private Long firstAssetId;
+
+    @Column(name = "last_asset_id", nullable = false)
+    private Long lastAssetId;
+
+    @Column(name = "asset_count", nullable = false)
+    private Integer assetCount;
+
+    // Lease
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private DepreciationLeaseStatus status = DepreciationLeaseStatus.PENDING;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "claim_count", nullable = false)
+    private Integer claimCount = 0;
+
+    // Checkpoint
+    @Column(name = "last_processed_asset_id")
+    private Long lastProcessedAssetId;
+
+    // Counters
+    @Column(name = "success_count", nullable = false)
+    private Integer successCount = 0;
+
+    @Column(name = "error_count", nullable = false)
+    private Integer errorCount = 0;
+
+    @Column(name = "total_depreciation_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalDepreciationAmount = BigDecimal.ZERO;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Audit fields
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
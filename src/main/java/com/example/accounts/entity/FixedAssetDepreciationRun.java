@@ -0,0 +1,83 @@
+package com.example.accounts.entity;
+
+import com.example.accounts.entity.enums.DepreciationRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a registered month-end Depreciation Run
+ * Committed in chunks; the last committed asset id is the resume checkpoint
+ */
+@Entity
+@Table(name = "fixed_asset_depreciation_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixedAssetDepreciationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_id")
+    private Long runId;
+
+    // Period (YYYY-MM-01)
+    @Column(name = "depreciation_period", nullable = false)
+    private LocalDate depreciationPeriod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private DepreciationRunStatus status = DepreciationRunStatus.RUNNING;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    // Counters
+    @Column(name = "total_assets")
+    private Integer totalAssets;
+
+    @Column(name = "processed_count")
+    private Integer processedCount = 0;
+
+    @Column(name = "success_count")
+    private Integer successCount = 0;
+
+    @Column(name = "error_count")
+    private Integer errorCount = 0;
+
+    @Column(name = "total_depreciation_amount", precision = 19, scale = 4)
+    private BigDecimal totalDepreciationAmount = BigDecimal.ZERO;
+
+    // Checkpoint
+    @Column(name = "last_processed_asset_id")
+    private Long lastProcessedAssetId;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "last_checkpoint_at")
+    private LocalDateTime lastCheckpointAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    private String failureReason;
+
+    // Audit fields
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an asset that failed during a Depreciation Run
+ */
+@Entity
+@Table(name = "fixed_asset_depreciation_run_errors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixedAssetDepreciationRunError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_error_id")
+    private Long runErrorId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private FixedAssetDepreciationRun run;
+
+    @Column(name = "fixed_asset_id", nullable = false)
+    private Long fixedAssetId;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    // Audit fields
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -20,8 +20,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class FixedAssetMonthlyUsage {
 
+    /**
+     * Ids are drawn from fixed_asset_monthly_usage_seq in blocks of this size so inserts can be JDBC-batched
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fixed_asset_monthly_usage_seq")
+    @SequenceGenerator(name = "fixed_asset_monthly_usage_seq", sequenceName = "fixed_asset_monthly_usage_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "usage_id")
     private Long usageId;
 
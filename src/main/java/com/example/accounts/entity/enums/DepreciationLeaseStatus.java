@@ -0,0 +1,21 @@
+package com.example.accounts.entity.enums;
+
+/**
+ * Status of an asset partition of a cluster-coordinated depreciation run
+ */
+public enum DepreciationLeaseStatus {
+    /**
+     * Not claimed by any node yet
+     */
+    PENDING,
+
+    /**
+     * Claimed by a node until the lease expires; an expired lease can be claimed by another node
+     */
+    LEASED,
+
+    /**
+     * All assets of the partition were processed
+     */
+    COMPLETED
+}
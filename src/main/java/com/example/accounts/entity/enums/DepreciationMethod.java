@@ -14,5 +14,18 @@ public enum DepreciationMethod {
      * Units of Production Depreciation
      * Formula: (Cost - Salvage Value) / Total Units * Units Used
      */
-    UNITS_OF_PRODUCTION
+    UNITS_OF_PRODUCTION,
+
+    /**
+     * Declining Balance Depreciation, double declining by default
+     * Formula: Net Book Value × Factor / Useful Life in Months, switching to straight line
+     * over the remaining life once that is higher
+     */
+    DECLINING_BALANCE,
+
+    /**
+     * Sum of the Years' Digits Depreciation
+     * Formula: (Cost - Salvage Value) × Remaining Years / Sum of Years / 12
+     */
+    SUM_OF_YEARS_DIGITS
 }
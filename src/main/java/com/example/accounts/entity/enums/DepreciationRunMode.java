@@ -0,0 +1,51 @@
+package com.example.accounts.entity.enums;
+
+/**
+ * Execution mode of a month-end depreciation run
+ */
+public enum DepreciationRunMode {
+    /**
+     * One asset after another on the calling thread, in a single transaction
+     */
+    SERIAL,
+
+    /**
+     * Assets split into id-range partitions, each processed on its own worker
+     * in its own transaction
+     */
+    PARALLEL,
+
+    /**
+     * Straight-line assets depreciated with set-based SQL statements,
+     * remaining assets through the per-asset path
+     */
+    BULK,
+
+    /**
+     * Assets read page by page with the persistence context cleared in between,
+     * so memory use does not grow with portfolio size
+     */
+    STREAMING,
+
+    /**
+     * Every missing month up to the target period built in memory per asset
+     * and saved in one batch per chunk of assets
+     */
+    CATCH_UP,
+
+    /**
+     * Registered run committed in resumable chunks, optionally as a background job
+     */
+    CHECKPOINTED,
+
+    /**
+     * Asset partitions claimed with expiring database leases, so several nodes share one period
+     */
+    LEASED,
+
+    /**
+     * Only assets whose next depreciation date is due, caught up to the target period;
+     * started by the period-end scheduler or on demand
+     */
+    SCHEDULED
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.entity.enums;
+
+/**
+ * Lifecycle status of a registered depreciation run
+ */
+public enum DepreciationRunStatus {
+    /**
+     * Run is in progress (or the node running it died; it can be resumed)
+     */
+    RUNNING,
+
+    /**
+     * All assets needing depreciation for the period were processed
+     */
+    COMPLETED,
+
+    /**
+     * A chunk could not be committed; the run can be resumed from its last checkpoint
+     */
+    FAILED,
+
+    /**
+     * Stopped on request between two chunks; the run can be resumed from its last checkpoint
+     */
+    CANCELLED
+}
@@ -0,0 +1,36 @@
+package com.example.accounts.entity.enums;
+
+/**
+ * Fixed asset document types posted by the bulk posting pipeline, in the order they must be posted
+ */
+public enum PostingDocumentType {
+    /**
+     * Fixed asset entries (activate assets); everything else needs an active asset
+     */
+    ENTRY,
+
+    /**
+     * Capital improvements (increase asset cost)
+     */
+    CAPITAL_IMPROVEMENT,
+
+    /**
+     * Impairments, revaluations, useful life and salvage value changes
+     */
+    PARAMETER_CHANGE,
+
+    /**
+     * Write-offs, after the asset's cost and parameters are final
+     */
+    WRITE_OFF,
+
+    /**
+     * Sale preparations (reclassify assets as held for sale); a sale needs its asset held for sale
+     */
+    SALE_PREPARATION,
+
+    /**
+     * Sales (dispose assets)
+     */
+    SALE
+}
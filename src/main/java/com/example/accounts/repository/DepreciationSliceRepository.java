@@ -0,0 +1,71 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.dto.BatchDepreciationRequest;
+import com.example.accounts.dto.DepreciationSliceAsset;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the assets needing depreciation within a slice of the portfolio for a filtered batch run.
+ * Only the filters actually given are added to the statement, so the department filter can use its index
+ * instead of an "(:filter IS NULL OR ...)" predicate that defeats it. The expense item is matched on
+ * its description and the business activity on the asset's entry documents.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DepreciationSliceRepository {
+
+    private static final String SELECT_SLICE = "SELECT fa.fixed_asset_id, ei.description, " +
+            "(SELECT MAX(e.business_activity) FROM fixed_asset_entries e " +
+            "WHERE e.fixed_asset_id = fa.fixed_asset_id) AS business_activity, fa.description " +
+            "FROM fixed_assets fa " +
+            "LEFT JOIN expense_items ei ON ei.expense_item_id = fa.expense_item_id " +
+            "WHERE fa.status = 'ACTIVE' " +
+            "AND (fa.last_depreciation_date IS NULL OR fa.last_depreciation_date < ?) " +
+            "AND fa.fixed_asset_id > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the next chunk of assets of the slice needing depreciation for the request's period,
+     * after a given asset id (keyset pagination)
+     */
+    public List<DepreciationSliceAsset> findNextChunk(BatchDepreciationRequest request, long afterAssetId,
+            int chunkSize) {
+        StringBuilder sql = new StringBuilder(SELECT_SLICE);
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(Date.valueOf(request.getPeriod()));
+        parameters.add(afterAssetId);
+
+        if (hasText(request.getDepartment())) {
+            sql.append(" AND fa.department = ?");
+            parameters.add(request.getDepartment());
+        }
+        if (hasText(request.getExpenseItem())) {
+            sql.append(" AND ei.description = ?");
+            parameters.add(request.getExpenseItem());
+        }
+        if (hasText(request.getBusinessActivity())) {
+            sql.append(" AND EXISTS (SELECT 1 FROM fixed_asset_entries e " +
+                    "WHERE e.fixed_asset_id = fa.fixed_asset_id AND e.business_activity = ?)");
+            parameters.add(request.getBusinessActivity());
+        }
+
+        sql.append(" ORDER BY fa.fixed_asset_id LIMIT ?");
+        parameters.add(chunkSize);
+
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new DepreciationSliceAsset(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4)),
+                parameters.toArray());
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.dto.DepreciationStatementDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the statement of depreciation of a period range in one statement, whatever the portfolio size.
+ * For each asset, the latest depreciation row up to the end of the range gives the closing balance, and a
+ * windowed sum over the asset's history gives the depreciation within the range; the opening balance is
+ * the closing balance less that depreciation. Assets without depreciation history have zero balances.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DepreciationStatementRepository {
+
+    private static final String SELECT_STATEMENT = "SELECT fa.department, fa.fixed_asset_id, fa.asset_number, " +
+            "fa.description, fa.depreciation_method, fa.initial_cost, fa.salvage_value, fa.cost_adjustment, " +
+            "COALESCE(h.closing_accumulated_depreciation - h.range_depreciation, 0) AS opening_balance, " +
+            "COALESCE(h.range_depreciation, 0) AS depreciation_changes, " +
+            "COALESCE(h.closing_accumulated_depreciation, 0) AS closing_balance " +
+            "FROM fixed_assets fa " +
+            "LEFT JOIN (SELECT d.fixed_asset_id, d.closing_accumulated_depreciation, " +
+            "SUM(CASE WHEN d.depreciation_period >= ? THEN d.depreciation_amount ELSE 0 END) " +
+            "OVER (PARTITION BY d.fixed_asset_id) AS range_depreciation, " +
+            "ROW_NUMBER() OVER (PARTITION BY d.fixed_asset_id ORDER BY d.depreciation_period DESC) AS recency " +
+            "FROM fixed_asset_depreciation d WHERE d.depreciation_period <= ?) h " +
+            "ON h.fixed_asset_id = fa.fixed_asset_id AND h.recency = 1 " +
+            "ORDER BY fa.department, fa.asset_number, fa.fixed_asset_id";
+
+    private static final RowMapper<DepreciationStatementDTO> STATEMENT_ROW_MAPPER = (rs, rowNum) -> {
+        DepreciationStatementDTO line = new DepreciationStatementDTO();
+        line.setDepartment(rs.getString(1));
+        line.setFixedAssetId(rs.getLong(2));
+        line.setAssetNumber(rs.getString(3));
+        line.setAssetDescription(rs.getString(4));
+        line.setDepreciationMethod(rs.getString(5));
+        line.setInitialCost(rs.getBigDecimal(6));
+        line.setSalvageValue(rs.getBigDecimal(7));
+        line.setCostAdjustment(rs.getBigDecimal(8));
+        line.setOpeningBalance(rs.getBigDecimal(9));
+        line.setDepreciationChanges(rs.getBigDecimal(10));
+
+        BigDecimal closingBalance = rs.getBigDecimal(11);
+        line.setClosingBalance(closingBalance);
+        line.setNetBookValue(line.getGrossCost().subtract(closingBalance));
+        return line;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Statement lines of all assets for the depreciation periods between two dates, inclusive,
+     * ordered by department (assets without a department first) and asset number
+     */
+    public List<DepreciationStatementDTO> findStatement(LocalDate fromDate, LocalDate toDate) {
+        return jdbcTemplate.query(SELECT_STATEMENT, STATEMENT_ROW_MAPPER, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+
+    /**
+     * Number of statement lines, one per asset whatever the period range
+     */
+    public long countStatementLines() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM fixed_assets", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Stream the statement lines, in the same order, to a consumer as they are read.
+     * The driver is asked to stream the result set row by row instead of buffering it, so memory stays constant
+     * whatever the number of assets; the connection is held until the last row has been consumed.
+     */
+    public long streamStatement(LocalDate fromDate, LocalDate toDate, Consumer<DepreciationStatementDTO> consumer) {
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_STATEMENT,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL Connector/J streams a forward-only, read-only result set fetched with Integer.MIN_VALUE
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setDate(1, Date.valueOf(fromDate));
+            statement.setDate(2, Date.valueOf(toDate));
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(STATEMENT_ROW_MAPPER.mapRow(rs, (int) rows[0]++)));
+        return rows[0];
+    }
+}
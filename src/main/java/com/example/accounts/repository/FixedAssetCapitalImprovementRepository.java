@@ -1,12 +1,14 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetCapitalImprovement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +43,22 @@ public interface FixedAssetCapitalImprovementRepository extends JpaRepository<Fi
      * Find unposted improvements
      */
     List<FixedAssetCapitalImprovement> findByIsPostedFalse();
+
+    /**
+     * Find capital improvements by ids together with their assets, for posting in bulk
+     */
+    @Query("SELECT faci FROM FixedAssetCapitalImprovement faci JOIN FETCH faci.fixedAsset WHERE faci.improvementId IN :ids")
+    List<FixedAssetCapitalImprovement> findAllWithAssetByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next chunk of ids of unposted improvements after a given id (keyset pagination)
+     */
+    @Query("SELECT faci.improvementId FROM FixedAssetCapitalImprovement faci WHERE faci.isPosted = false AND faci.improvementId > :afterId ORDER BY faci.improvementId")
+    List<Long> findUnpostedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the id of the asset an improvement belongs to
+     */
+    @Query("SELECT faci.fixedAsset.fixedAssetId FROM FixedAssetCapitalImprovement faci WHERE faci.improvementId = :improvementId")
+    Optional<Long> findFixedAssetIdById(@Param("improvementId") Long improvementId);
 }
@@ -0,0 +1,110 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.FixedAssetDepreciationLease;
+import com.example.accounts.entity.enums.DepreciationLeaseStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for Fixed Asset Depreciation Leases.
+ * Claims, renewals and completion are conditional single-row UPDATEs, so exactly one node wins a race
+ * and a node that lost its lease finds out from the update count instead of overwriting the new owner.
+ */
+@Repository
+public interface FixedAssetDepreciationLeaseRepository extends JpaRepository<FixedAssetDepreciationLease, Long> {
+
+    /**
+     * Find the partitions of a period
+     */
+    List<FixedAssetDepreciationLease> findByDepreciationPeriodOrderByPartitionNumber(LocalDate period);
+
+    /**
+     * Count the partitions of a period
+     */
+    long countByDepreciationPeriod(LocalDate period);
+
+    /**
+     * Count the partitions of a period not in a given status
+     */
+    long countByDepreciationPeriodAndStatusNot(LocalDate period, DepreciationLeaseStatus status);
+
+    /**
+     * Highest partition number of a period, 0 when it has none
+     */
+    @Query("SELECT COALESCE(MAX(l.partitionNumber), 0) FROM FixedAssetDepreciationLease l " +
+            "WHERE l.depreciationPeriod = :period")
+    int findMaxPartitionNumber(@Param("period") LocalDate period);
+
+    /**
+     * Find ids of partitions of a period that are not claimed or whose lease has expired
+     */
+    @Query("SELECT l.leaseId FROM FixedAssetDepreciationLease l WHERE l.depreciationPeriod = :period AND " +
+            "(l.status = 'PENDING' OR (l.status = 'LEASED' AND l.leaseExpiresAt < :now)) " +
+            "ORDER BY l.partitionNumber")
+    List<Long> findClaimableLeaseIds(
+            @Param("period") LocalDate period,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Count partitions of a period other nodes still hold an unexpired lease on
+     */
+    @Query("SELECT COUNT(l) FROM FixedAssetDepreciationLease l WHERE l.depreciationPeriod = :period AND " +
+            "l.status = 'LEASED' AND l.leaseExpiresAt >= :now")
+    long countActiveLeases(@Param("period") LocalDate period, @Param("now") LocalDateTime now);
+
+    /**
+     * Claim a partition if it is not claimed or its lease has expired
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE fixed_asset_depreciation_leases SET status = 'LEASED', lease_owner = :owner, " +
+            "lease_expires_at = :expiresAt, claim_count = claim_count + 1 " +
+            "WHERE lease_id = :leaseId " +
+            "AND (status = 'PENDING' OR (status = 'LEASED' AND lease_expires_at < :now))",
+            nativeQuery = true)
+    int claim(
+            @Param("leaseId") Long leaseId,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Record a processed chunk and renew the lease, if the lease is still held by the owner
+     */
+    @Modifying
+    @Query(value = "UPDATE fixed_asset_depreciation_leases SET last_processed_asset_id = :lastAssetId, " +
+            "success_count = success_count + :successCount, error_count = error_count + :errorCount, " +
+            "total_depreciation_amount = total_depreciation_amount + :amount, lease_expires_at = :expiresAt " +
+            "WHERE lease_id = :leaseId AND lease_owner = :owner AND status = 'LEASED'",
+            nativeQuery = true)
+    int checkpoint(
+            @Param("leaseId") Long leaseId,
+            @Param("owner") String owner,
+            @Param("lastAssetId") Long lastAssetId,
+            @Param("successCount") int successCount,
+            @Param("errorCount") int errorCount,
+            @Param("amount") BigDecimal amount,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Mark a partition completed, if the lease is still held by the owner
+     */
+    @Modifying
+    @Query(value = "UPDATE fixed_asset_depreciation_leases SET status = 'COMPLETED', lease_expires_at = NULL, " +
+            "completed_at = :completedAt " +
+            "WHERE lease_id = :leaseId AND lease_owner = :owner AND status = 'LEASED'",
+            nativeQuery = true)
+    int complete(
+            @Param("leaseId") Long leaseId,
+            @Param("owner") String owner,
+            @Param("completedAt") LocalDateTime completedAt);
+}
@@ -1,12 +1,19 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetDepreciation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +23,18 @@ import java.util.Optional;
 @Repository
 public interface FixedAssetDepreciationRepository extends JpaRepository<FixedAssetDepreciation, Long> {
 
+    /**
+     * Assets (alias fa) the set-based straight-line depreciation covers for :period
+     */
+    String STRAIGHT_LINE_ELIGIBILITY = "fa.status = 'ACTIVE' " +
+            "AND fa.depreciation_method = 'STRAIGHT_LINE' " +
+            "AND fa.useful_life_months > 0 " +
+            "AND fa.depreciation_start_date <= :period " +
+            "AND (fa.last_depreciation_date IS NULL OR fa.last_depreciation_date < :period) " +
+            "AND fa.initial_cost + COALESCE(fa.cost_adjustment, 0) - fa.accumulated_depreciation > COALESCE(fa.salvage_value, 0) " +
+            "AND NOT EXISTS (SELECT 1 FROM fixed_asset_depreciation d " +
+            "WHERE d.fixed_asset_id = fa.fixed_asset_id AND d.depreciation_period = :period)";
+
     /**
      * Find by depreciation number
      */
@@ -28,13 +47,24 @@ public interface FixedAssetDepreciationRepository extends JpaRepository<FixedAss
     List<FixedAssetDepreciation> findByFixedAssetId(@Param("assetId") Long assetId);
 
     /**
-     * Find by asset and period
+     * Find by asset and period.
+     * Does not flush pending inserts first, so depreciation rows of a batch run stay in one JDBC batch.
      */
     @Query("SELECT fad FROM FixedAssetDepreciation fad WHERE fad.fixedAsset.fixedAssetId = :assetId AND fad.depreciationPeriod = :period")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
     Optional<FixedAssetDepreciation> findByFixedAssetIdAndPeriod(
             @Param("assetId") Long assetId,
             @Param("period") LocalDate period);
 
+    /**
+     * Find which of the given assets already have depreciation for a period
+     */
+    @Query("SELECT fad.fixedAsset.fixedAssetId FROM FixedAssetDepreciation fad WHERE fad.depreciationPeriod = :period AND fad.fixedAsset.fixedAssetId IN :assetIds")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    List<Long> findFixedAssetIdsDepreciatedInPeriod(
+            @Param("period") LocalDate period,
+            @Param("assetIds") Collection<Long> assetIds);
+
     /**
      * Find by period
      */
@@ -55,9 +85,84 @@ public interface FixedAssetDepreciationRepository extends JpaRepository<FixedAss
      */
     List<FixedAssetDepreciation> findByIsPostedFalse();
 
+    /**
+     * Summarize unposted depreciation of a period by expense GL account, accumulated depreciation GL account
+     * and department: [expenseAccountId, depreciationAccountId, department, rowCount, depreciationAmount]
+     */
+    @Query(value = "SELECT fa.expense_gl_account_id, fa.depreciation_gl_account_id, fa.department, " +
+            "COUNT(*), SUM(d.depreciation_amount) " +
+            "FROM fixed_asset_depreciation d JOIN fixed_assets fa ON fa.fixed_asset_id = d.fixed_asset_id " +
+            "WHERE d.depreciation_period = :period AND COALESCE(d.is_posted, false) = false " +
+            "GROUP BY fa.expense_gl_account_id, fa.depreciation_gl_account_id, fa.department " +
+            "ORDER BY fa.expense_gl_account_id, fa.depreciation_gl_account_id, fa.department",
+            nativeQuery = true)
+    List<Object[]> summarizeUnpostedByPeriod(@Param("period") LocalDate period);
+
+    /**
+     * Link all unposted depreciation of a period to a journal entry and mark it posted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE fixed_asset_depreciation SET journal_entry_id = :journalEntryId, is_posted = true, " +
+            "posted_date = :postedDate, posted_by = :postedBy " +
+            "WHERE depreciation_period = :period AND COALESCE(is_posted, false) = false",
+            nativeQuery = true)
+    int markPostedByPeriod(
+            @Param("period") LocalDate period,
+            @Param("journalEntryId") long journalEntryId,
+            @Param("postedDate") LocalDateTime postedDate,
+            @Param("postedBy") String postedBy);
+
     /**
      * Get latest depreciation for an asset
      */
     @Query("SELECT fad FROM FixedAssetDepreciation fad WHERE fad.fixedAsset.fixedAssetId = :assetId ORDER BY fad.depreciationPeriod DESC LIMIT 1")
     Optional<FixedAssetDepreciation> findLatestByFixedAssetId(@Param("assetId") Long assetId);
+
+    /**
+     * Total depreciation amount for a period
+     */
+    @Query("SELECT COALESCE(SUM(fad.depreciationAmount), 0) FROM FixedAssetDepreciation fad WHERE fad.depreciationPeriod = :period")
+    BigDecimal sumDepreciationAmountByPeriod(@Param("period") LocalDate period);
+
+    /**
+     * Count assets the set-based straight-line insert would depreciate for a period
+     */
+    @Query(value = "SELECT COUNT(*) FROM fixed_assets fa WHERE " + STRAIGHT_LINE_ELIGIBILITY, nativeQuery = true)
+    int countStraightLineDepreciationCandidates(@Param("period") LocalDate period);
+
+    /**
+     * Insert straight-line depreciation for every eligible asset for a period in one statement.
+     * Monthly amount is ROUND((gross cost - salvage value) / useful life, 4), capped so that
+     * net book value never drops below salvage value. Eligibility mirrors the per-asset validation.
+     * Ids are assigned in asset id order from firstId, for at most maxRows assets.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO fixed_asset_depreciation (" +
+            "depreciation_id, fixed_asset_id, depreciation_period, depreciation_date, " +
+            "opening_gross_cost, opening_accumulated_depreciation, opening_net_book_value, " +
+            "depreciation_amount, closing_accumulated_depreciation, closing_net_book_value, " +
+            "description, is_posted, created_at) " +
+            "SELECT :firstId + sl.rn - 1, sl.fixed_asset_id, :period, :depreciationDate, " +
+            "sl.gross_cost, sl.accumulated_depreciation, sl.gross_cost - sl.accumulated_depreciation, " +
+            "sl.amount, sl.accumulated_depreciation + sl.amount, sl.gross_cost - sl.accumulated_depreciation - sl.amount, " +
+            ":description, false, :createdAt " +
+            "FROM (SELECT fa.fixed_asset_id, " +
+            "ROW_NUMBER() OVER (ORDER BY fa.fixed_asset_id) AS rn, " +
+            "fa.initial_cost + COALESCE(fa.cost_adjustment, 0) AS gross_cost, " +
+            "fa.accumulated_depreciation, " +
+            "LEAST(" +
+            "ROUND((fa.initial_cost + COALESCE(fa.cost_adjustment, 0) - COALESCE(fa.salvage_value, 0)) / fa.useful_life_months, 4), " +
+            "fa.initial_cost + COALESCE(fa.cost_adjustment, 0) - fa.accumulated_depreciation - COALESCE(fa.salvage_value, 0)" +
+            ") AS amount " +
+            "FROM fixed_assets fa " +
+            "WHERE " + STRAIGHT_LINE_ELIGIBILITY + ") sl " +
+            "WHERE sl.rn <= :maxRows",
+            nativeQuery = true)
+    int insertStraightLineDepreciation(
+            @Param("period") LocalDate period,
+            @Param("depreciationDate") LocalDate depreciationDate,
+            @Param("description") String description,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("firstId") long firstId,
+            @Param("maxRows") int maxRows);
 }
@@ -0,0 +1,29 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.FixedAssetDepreciationRunError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for Fixed Asset Depreciation Run errors
+ */
+@Repository
+public interface FixedAssetDepreciationRunErrorRepository extends JpaRepository<FixedAssetDepreciationRunError, Long> {
+
+    /**
+     * Find errors of a run
+     */
+    @Query("SELECT e FROM FixedAssetDepreciationRunError e WHERE e.run.runId = :runId ORDER BY e.fixedAssetId")
+    List<FixedAssetDepreciationRunError> findByRunId(@Param("runId") Long runId);
+
+    /**
+     * Find a page of errors of a run
+     */
+    @Query("SELECT e FROM FixedAssetDepreciationRunError e WHERE e.run.runId = :runId ORDER BY e.fixedAssetId")
+    List<FixedAssetDepreciationRunError> findByRunId(@Param("runId") Long runId, Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.FixedAssetDepreciationRun;
+import com.example.accounts.entity.enums.DepreciationRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for Fixed Asset Depreciation Runs
+ */
+@Repository
+public interface FixedAssetDepreciationRunRepository extends JpaRepository<FixedAssetDepreciationRun, Long> {
+
+    /**
+     * Find runs for a period, latest first
+     */
+    List<FixedAssetDepreciationRun> findByDepreciationPeriodOrderByStartedAtDesc(LocalDate period);
+
+    /**
+     * Find runs for a period in one of the given statuses
+     */
+    List<FixedAssetDepreciationRun> findByDepreciationPeriodAndStatusIn(LocalDate period,
+            List<DepreciationRunStatus> statuses);
+
+    /**
+     * Mark a failed or cancelled run, or a running one without a checkpoint since the given time (its node died),
+     * as running again. Returns 0 when the run is not in such a state, e.g. because another resume won the race.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE fixed_asset_depreciation_runs SET status = 'RUNNING', failure_reason = NULL " +
+            "WHERE run_id = :runId AND (status IN ('FAILED', 'CANCELLED') " +
+            "OR (status = 'RUNNING' AND COALESCE(last_checkpoint_at, started_at) < :staleBefore))",
+            nativeQuery = true)
+    int reopen(@Param("runId") Long runId, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Find by status
+     */
+    List<FixedAssetDepreciationRun> findByStatus(DepreciationRunStatus status);
+}
@@ -1,12 +1,14 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +43,16 @@ public interface FixedAssetEntryRepository extends JpaRepository<FixedAssetEntry
      * Find by entry date range
      */
     List<FixedAssetEntry> findByEntryDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Find entries by ids together with their assets, for posting in bulk
+     */
+    @Query("SELECT fae FROM FixedAssetEntry fae JOIN FETCH fae.fixedAsset WHERE fae.entryId IN :ids")
+    List<FixedAssetEntry> findAllWithAssetByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next chunk of ids of unposted entries after a given id (keyset pagination)
+     */
+    @Query("SELECT fae.entryId FROM FixedAssetEntry fae WHERE fae.isPosted = false AND fae.entryId > :afterId ORDER BY fae.entryId")
+    List<Long> findUnpostedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -40,6 +40,26 @@ public interface FixedAssetMonthlyUsageRepository extends JpaRepository<FixedAss
      */
     List<FixedAssetMonthlyUsage> findByUsagePeriod(LocalDate period);
 
+    /**
+     * Find asset id, units used and processed flag of all usage for a period
+     */
+    @Query("SELECT famu.fixedAsset.fixedAssetId, famu.unitsUsed, famu.isProcessed FROM FixedAssetMonthlyUsage famu WHERE famu.usagePeriod = :period")
+    List<Object[]> findUnitsByPeriod(@Param("period") LocalDate period);
+
+    /**
+     * Find asset id, units used, processed flag and period of the usage of given assets up to a period
+     */
+    @Query("SELECT famu.fixedAsset.fixedAssetId, famu.unitsUsed, famu.isProcessed, famu.usagePeriod FROM FixedAssetMonthlyUsage famu WHERE famu.fixedAsset.fixedAssetId IN :assetIds AND famu.usagePeriod <= :targetPeriod")
+    List<Object[]> findUnitsByAssetIdsUpTo(
+            @Param("assetIds") List<Long> assetIds,
+            @Param("targetPeriod") LocalDate targetPeriod);
+
+    /**
+     * Find asset id, total units and number of months of processed usage, per asset
+     */
+    @Query("SELECT famu.fixedAsset.fixedAssetId, SUM(famu.unitsUsed), COUNT(famu) FROM FixedAssetMonthlyUsage famu WHERE famu.isProcessed = true GROUP BY famu.fixedAsset.fixedAssetId")
+    List<Object[]> summarizeProcessedUnitsByAsset();
+
     /**
      * Find processed usage
      */
@@ -49,4 +69,10 @@ public interface FixedAssetMonthlyUsageRepository extends JpaRepository<FixedAss
      * Find unprocessed usage
      */
     List<FixedAssetMonthlyUsage> findByIsProcessedFalse();
+
+    /**
+     * Find the id of the asset a usage record belongs to
+     */
+    @Query("SELECT famu.fixedAsset.fixedAssetId FROM FixedAssetMonthlyUsage famu WHERE famu.usageId = :usageId")
+    Optional<Long> findFixedAssetIdById(@Param("usageId") Long usageId);
 }
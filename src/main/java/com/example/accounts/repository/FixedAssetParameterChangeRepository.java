@@ -2,12 +2,14 @@ package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetParameterChange;
 import com.example.accounts.entity.enums.ParameterChangeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,4 +49,22 @@ public interface FixedAssetParameterChangeRepository extends JpaRepository<Fixed
      * Find unposted changes
      */
     List<FixedAssetParameterChange> findByIsPostedFalse();
+
+    /**
+     * Find parameter changes by ids together with their assets, for posting in bulk
+     */
+    @Query("SELECT fapc FROM FixedAssetParameterChange fapc JOIN FETCH fapc.fixedAsset WHERE fapc.changeId IN :ids")
+    List<FixedAssetParameterChange> findAllWithAssetByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next chunk of ids of unposted parameter changes after a given id (keyset pagination)
+     */
+    @Query("SELECT fapc.changeId FROM FixedAssetParameterChange fapc WHERE fapc.isPosted = false AND fapc.changeId > :afterId ORDER BY fapc.changeId")
+    List<Long> findUnpostedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the id of the asset a parameter change belongs to
+     */
+    @Query("SELECT fapc.fixedAsset.fixedAssetId FROM FixedAssetParameterChange fapc WHERE fapc.changeId = :changeId")
+    Optional<Long> findFixedAssetIdById(@Param("changeId") Long changeId);
 }
@@ -1,14 +1,19 @@
 package com.example.accounts.repository;
 
+import com.example.accounts.dto.AssetDepreciationSnapshot;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.entity.enums.DepreciationMethod;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +57,164 @@ public interface FixedAssetRepository extends JpaRepository<FixedAsset, Long> {
             "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod)")
     List<FixedAsset> findAssetsNeedingDepreciation(@Param("targetPeriod") LocalDate targetPeriod);
 
+    /**
+     * Find ids of assets needing depreciation for a given period, in id order
+     */
+    @Query("SELECT fa.fixedAssetId FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND " +
+            "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod) " +
+            "ORDER BY fa.fixedAssetId")
+    List<Long> findAssetIdsNeedingDepreciation(@Param("targetPeriod") LocalDate targetPeriod);
+
+    /**
+     * Find the next chunk of ids of assets needing depreciation after a given asset id (keyset pagination)
+     */
+    @Query("SELECT fa.fixedAssetId FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND " +
+            "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod) AND " +
+            "fa.fixedAssetId > :afterAssetId " +
+            "ORDER BY fa.fixedAssetId")
+    List<Long> findAssetIdsNeedingDepreciationAfter(
+            @Param("targetPeriod") LocalDate targetPeriod,
+            @Param("afterAssetId") Long afterAssetId,
+            Pageable pageable);
+
+    /**
+     * Find the next chunk of ids of assets needing depreciation after a given asset id, up to a last asset id
+     */
+    @Query("SELECT fa.fixedAssetId FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND " +
+            "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod) AND " +
+            "fa.fixedAssetId > :afterAssetId AND fa.fixedAssetId <= :lastAssetId " +
+            "ORDER BY fa.fixedAssetId")
+    List<Long> findAssetIdsNeedingDepreciationBetween(
+            @Param("targetPeriod") LocalDate targetPeriod,
+            @Param("afterAssetId") Long afterAssetId,
+            @Param("lastAssetId") Long lastAssetId,
+            Pageable pageable);
+
+    /**
+     * Find the next chunk of ids of active assets whose next depreciation date is due by a period (keyset pagination).
+     * Served by the (status, next_depreciation_date) index.
+     */
+    @Query("SELECT fa.fixedAssetId FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND fa.nextDepreciationDate <= :targetPeriod AND " +
+            "fa.fixedAssetId > :afterAssetId " +
+            "ORDER BY fa.fixedAssetId")
+    List<Long> findDueAssetIdsAfter(
+            @Param("targetPeriod") LocalDate targetPeriod,
+            @Param("afterAssetId") Long afterAssetId,
+            Pageable pageable);
+
+    /**
+     * Count active assets whose next depreciation date is due by a period, as an index range count over the due assets
+     */
+    @Query("SELECT COUNT(fa) FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND fa.nextDepreciationDate <= :targetPeriod")
+    long countDueAssets(@Param("targetPeriod") LocalDate targetPeriod);
+
+    /**
+     * Earliest next depreciation date of the active assets
+     */
+    @Query("SELECT MIN(fa.nextDepreciationDate) FROM FixedAsset fa WHERE fa.status = 'ACTIVE'")
+    LocalDate findEarliestNextDepreciationDate();
+
+    /**
+     * Find the next page of assets needing depreciation after a given asset id (keyset pagination)
+     */
+    @Query("SELECT fa FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND " +
+            "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod) AND " +
+            "fa.fixedAssetId > :afterAssetId " +
+            "ORDER BY fa.fixedAssetId")
+    List<FixedAsset> findAssetsNeedingDepreciationAfter(
+            @Param("targetPeriod") LocalDate targetPeriod,
+            @Param("afterAssetId") Long afterAssetId,
+            Pageable pageable);
+
+    /**
+     * Count assets needing depreciation for a given period
+     */
+    @Query("SELECT COUNT(fa) FROM FixedAsset fa WHERE " +
+            "fa.status = 'ACTIVE' AND " +
+            "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod)")
+    long countAssetsNeedingDepreciation(@Param("targetPeriod") LocalDate targetPeriod);
+
+    /**
+     * Roll straight-line assets forward to the depreciation rows inserted for a period:
+     * accumulated depreciation from the closing balance, last/next depreciation dates.
+     * Bumps the version so concurrent entity updates of these assets fail instead of overwriting them.
+     */
+    @Modifying
+    @Query(value = "UPDATE fixed_assets SET " +
+            "accumulated_depreciation = (SELECT d.closing_accumulated_depreciation FROM fixed_asset_depreciation d " +
+            "WHERE d.fixed_asset_id = fixed_assets.fixed_asset_id AND d.depreciation_period = :period), " +
+            "last_depreciation_date = :period, " +
+            "last_depreciation_calculation_date = :calculatedAt, " +
+            "next_depreciation_date = :nextDepreciationDate, " +
+            "updated_at = :calculatedAt, " +
+            "version = version + 1 " +
+            "WHERE status = 'ACTIVE' " +
+            "AND depreciation_method = 'STRAIGHT_LINE' " +
+            "AND (last_depreciation_date IS NULL OR last_depreciation_date < :period) " +
+            "AND EXISTS (SELECT 1 FROM fixed_asset_depreciation d " +
+            "WHERE d.fixed_asset_id = fixed_assets.fixed_asset_id AND d.depreciation_period = :period)",
+            nativeQuery = true)
+    int applyStraightLineDepreciation(
+            @Param("period") LocalDate period,
+            @Param("nextDepreciationDate") LocalDate nextDepreciationDate,
+            @Param("calculatedAt") LocalDateTime calculatedAt);
+
+    /**
+     * Flip straight-line assets depreciated for a period down to salvage value to FULLY_DEPRECIATED
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE fixed_assets SET status = 'FULLY_DEPRECIATED', updated_at = :updatedAt, " +
+            "version = version + 1 " +
+            "WHERE status = 'ACTIVE' " +
+            "AND depreciation_method = 'STRAIGHT_LINE' " +
+            "AND last_depreciation_date = :period " +
+            "AND initial_cost + COALESCE(cost_adjustment, 0) - accumulated_depreciation <= COALESCE(salvage_value, 0)",
+            nativeQuery = true)
+    int markStraightLineFullyDepreciated(
+            @Param("period") LocalDate period,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find depreciation snapshots of all active assets, without loading entities
+     */
+    @Query("SELECT new com.example.accounts.dto.AssetDepreciationSnapshot(" +
+            "fa.fixedAssetId, fa.assetNumber, fa.department, ac.description, fa.depreciationMethod, " +
+            "fa.initialCost, fa.costAdjustment, fa.accumulatedDepreciation, fa.salvageValue, " +
+            "fa.usefulLifeMonths, fa.totalUnits, fa.remainingUnits, fa.depreciationStartDate, fa.lastDepreciationDate) " +
+            "FROM FixedAsset fa LEFT JOIN fa.assetClass ac " +
+            "WHERE fa.status = 'ACTIVE'")
+    List<AssetDepreciationSnapshot> findActiveDepreciationSnapshots();
+
+    /**
+     * Find depreciation snapshots of assets needing depreciation for a given period, without loading entities
+     */
+    @Query("SELECT new com.example.accounts.dto.AssetDepreciationSnapshot(" +
+            "fa.fixedAssetId, fa.assetNumber, fa.department, ac.description, fa.depreciationMethod, " +
+            "fa.initialCost, fa.costAdjustment, fa.accumulatedDepreciation, fa.salvageValue, " +
+            "fa.usefulLifeMonths, fa.totalUnits, fa.remainingUnits, fa.depreciationStartDate, fa.lastDepreciationDate) " +
+            "FROM FixedAsset fa LEFT JOIN fa.assetClass ac " +
+            "WHERE fa.status = 'ACTIVE' AND " +
+            "(fa.lastDepreciationDate IS NULL OR fa.lastDepreciationDate < :targetPeriod)")
+    List<AssetDepreciationSnapshot> findDepreciationSnapshotsNeedingDepreciation(
+            @Param("targetPeriod") LocalDate targetPeriod);
+
+    /**
+     * Find depreciation snapshots of given assets, without loading entities
+     */
+    @Query("SELECT new com.example.accounts.dto.AssetDepreciationSnapshot(" +
+            "fa.fixedAssetId, fa.assetNumber, fa.department, ac.description, fa.depreciationMethod, " +
+            "fa.initialCost, fa.costAdjustment, fa.accumulatedDepreciation, fa.salvageValue, " +
+            "fa.usefulLifeMonths, fa.totalUnits, fa.remainingUnits, fa.depreciationStartDate, fa.lastDepreciationDate) " +
+            "FROM FixedAsset fa LEFT JOIN fa.assetClass ac " +
+            "WHERE fa.fixedAssetId IN :ids")
+    List<AssetDepreciationSnapshot> findDepreciationSnapshotsByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Find active assets
      */
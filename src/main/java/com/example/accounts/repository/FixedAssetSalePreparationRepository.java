@@ -1,12 +1,14 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetSalePreparation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,4 +49,16 @@ public interface FixedAssetSalePreparationRepository extends JpaRepository<Fixed
      */
     @Query("SELECT fasp FROM FixedAssetSalePreparation fasp WHERE fasp.actualSale IS NULL")
     List<FixedAssetSalePreparation> findPendingSales();
+
+    /**
+     * Find sale preparations by ids together with their assets, for posting in bulk
+     */
+    @Query("SELECT fasp FROM FixedAssetSalePreparation fasp JOIN FETCH fasp.fixedAsset WHERE fasp.preparationId IN :ids")
+    List<FixedAssetSalePreparation> findAllWithAssetByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next chunk of ids of unposted sale preparations after a given id (keyset pagination)
+     */
+    @Query("SELECT fasp.preparationId FROM FixedAssetSalePreparation fasp WHERE fasp.isPosted = false AND fasp.preparationId > :afterId ORDER BY fasp.preparationId")
+    List<Long> findUnpostedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
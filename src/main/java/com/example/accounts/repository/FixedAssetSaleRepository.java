@@ -1,12 +1,14 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetSale;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,4 +49,16 @@ public interface FixedAssetSaleRepository extends JpaRepository<FixedAssetSale,
      * Find unposted sales
      */
     List<FixedAssetSale> findByIsPostedFalse();
+
+    /**
+     * Find sales by ids together with their assets, for posting in bulk
+     */
+    @Query("SELECT fas FROM FixedAssetSale fas JOIN FETCH fas.fixedAsset WHERE fas.saleId IN :ids")
+    List<FixedAssetSale> findAllWithAssetByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next chunk of ids of unposted sales after a given id (keyset pagination)
+     */
+    @Query("SELECT fas.saleId FROM FixedAssetSale fas WHERE fas.isPosted = false AND fas.saleId > :afterId ORDER BY fas.saleId")
+    List<Long> findUnpostedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
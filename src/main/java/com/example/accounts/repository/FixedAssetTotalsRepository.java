@@ -0,0 +1,173 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.dto.FixedAssetSummaryDTO;
+import com.example.accounts.dto.FixedAssetTotalsRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and maintains the fixed_asset_totals rollup: asset count and value totals by status, class and department.
+ * Deltas are added with upserts on the (status, class_id, department) key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FixedAssetTotalsRepository {
+
+    private static final String UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE " +
+            "asset_count = asset_count + VALUES(asset_count), " +
+            "gross_cost = gross_cost + VALUES(gross_cost), " +
+            "accumulated_depreciation = accumulated_depreciation + VALUES(accumulated_depreciation), " +
+            "salvage_value = salvage_value + VALUES(salvage_value), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String INSERT_COLUMNS = "INSERT INTO fixed_asset_totals (status, class_id, department, " +
+            "asset_count, gross_cost, accumulated_depreciation, salvage_value, updated_at) ";
+
+    private static final String UPSERT_DELTA = INSERT_COLUMNS + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)" + UPSERT_SUFFIX;
+
+    private static final String SELECT_TOTALS = "SELECT status, class_id, department, asset_count, gross_cost, " +
+            "accumulated_depreciation, salvage_value FROM fixed_asset_totals";
+
+    private static final String RECOMPUTE_TOTALS = "SELECT COALESCE(status, 'NEW'), class_id, " +
+            "COALESCE(department, ''), COUNT(*), SUM(initial_cost + COALESCE(cost_adjustment, 0)), " +
+            "SUM(COALESCE(accumulated_depreciation, 0)), SUM(COALESCE(salvage_value, 0)) " +
+            "FROM fixed_assets GROUP BY COALESCE(status, 'NEW'), class_id, COALESCE(department, '')";
+
+    private static final String SELECT_SUMMARY = "SELECT COALESCE(SUM(asset_count), 0), " +
+            "COALESCE(SUM(gross_cost), 0), COALESCE(SUM(accumulated_depreciation), 0), " +
+            "COALESCE(SUM(salvage_value), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'NEW' THEN asset_count END), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'ACTIVE' THEN asset_count END), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'FULLY_DEPRECIATED' THEN asset_count END), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'HELD_FOR_SALE' THEN asset_count END), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'DISPOSED' THEN asset_count END), 0), " +
+            "COALESCE(SUM(CASE WHEN status = 'WRITTEN_OFF' THEN asset_count END), 0) " +
+            "FROM fixed_asset_totals";
+
+    /**
+     * Accumulated depreciation added by the set-based straight-line update of a period, per active group.
+     * Must run right before FixedAssetRepository#applyStraightLineDepreciation, with the same predicate.
+     */
+    private static final String STRAIGHT_LINE_DEPRECIATION_DELTAS = INSERT_COLUMNS +
+            "SELECT * FROM (SELECT 'ACTIVE' AS status, fa.class_id, COALESCE(fa.department, '') AS department, " +
+            "0 AS asset_count, 0 AS gross_cost, " +
+            "SUM(d.closing_accumulated_depreciation - fa.accumulated_depreciation) AS accumulated_depreciation, " +
+            "0 AS salvage_value, ? AS updated_at " +
+            "FROM fixed_assets fa JOIN fixed_asset_depreciation d " +
+            "ON d.fixed_asset_id = fa.fixed_asset_id AND d.depreciation_period = ? " +
+            "WHERE fa.status = 'ACTIVE' AND fa.depreciation_method = 'STRAIGHT_LINE' " +
+            "AND (fa.last_depreciation_date IS NULL OR fa.last_depreciation_date < ?) " +
+            "GROUP BY fa.class_id, COALESCE(fa.department, '')) delta" + UPSERT_SUFFIX;
+
+    /**
+     * Totals of the straight-line assets FixedAssetRepository#markStraightLineFullyDepreciated flips for a period,
+     * added with a sign to a status. Must run right before that update, with the same predicate.
+     */
+    private static final String STRAIGHT_LINE_FULLY_DEPRECIATED_DELTAS = INSERT_COLUMNS +
+            "SELECT * FROM (SELECT ? AS status, fa.class_id, COALESCE(fa.department, '') AS department, " +
+            "? * COUNT(*) AS asset_count, " +
+            "? * SUM(fa.initial_cost + COALESCE(fa.cost_adjustment, 0)) AS gross_cost, " +
+            "? * SUM(fa.accumulated_depreciation) AS accumulated_depreciation, " +
+            "? * SUM(COALESCE(fa.salvage_value, 0)) AS salvage_value, ? AS updated_at " +
+            "FROM fixed_assets fa " +
+            "WHERE fa.status = 'ACTIVE' AND fa.depreciation_method = 'STRAIGHT_LINE' " +
+            "AND fa.last_depreciation_date = ? " +
+            "AND fa.initial_cost + COALESCE(fa.cost_adjustment, 0) - fa.accumulated_depreciation " +
+            "<= COALESCE(fa.salvage_value, 0) " +
+            "GROUP BY fa.class_id, COALESCE(fa.department, '')) delta" + UPSERT_SUFFIX;
+
+    private static final RowMapper<FixedAssetTotalsRow> TOTALS_ROW_MAPPER = (rs, rowNum) -> new FixedAssetTotalsRow(
+            rs.getString(1), rs.getLong(2), rs.getString(3), rs.getLong(4), rs.getBigDecimal(5),
+            rs.getBigDecimal(6), rs.getBigDecimal(7));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add deltas to their groups in one JDBC batch, in the order given
+     */
+    public void applyDeltas(List<FixedAssetTotalsRow> deltas, LocalDateTime updatedAt) {
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (FixedAssetTotalsRow delta : deltas) {
+            args.add(new Object[]{delta.getStatus(), delta.getClassId(), delta.getDepartment(),
+                    delta.getAssetCount(), delta.getGrossCost(), delta.getAccumulatedDepreciation(),
+                    delta.getSalvageValue(), timestamp});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DELTA, args);
+    }
+
+    /**
+     * Add the accumulated depreciation of the set-based straight-line update of a period
+     */
+    public int applyStraightLineDepreciationDeltas(LocalDate period, LocalDateTime updatedAt) {
+        return jdbcTemplate.update(STRAIGHT_LINE_DEPRECIATION_DELTAS, Timestamp.valueOf(updatedAt),
+                Date.valueOf(period), Date.valueOf(period));
+    }
+
+    /**
+     * Move the straight-line assets about to be flipped to FULLY_DEPRECIATED for a period out of ACTIVE
+     */
+    public void moveStraightLineFullyDepreciated(LocalDate period, LocalDateTime updatedAt) {
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.update(STRAIGHT_LINE_FULLY_DEPRECIATED_DELTAS, "ACTIVE", -1, -1, -1, -1, timestamp,
+                Date.valueOf(period));
+        jdbcTemplate.update(STRAIGHT_LINE_FULLY_DEPRECIATED_DELTAS, "FULLY_DEPRECIATED", 1, 1, 1, 1, timestamp,
+                Date.valueOf(period));
+    }
+
+    /**
+     * Portfolio counts and value totals, read from the rollup as a single row
+     */
+    public FixedAssetSummaryDTO findSummary() {
+        return jdbcTemplate.queryForObject(SELECT_SUMMARY, (rs, rowNum) -> {
+            FixedAssetSummaryDTO summary = new FixedAssetSummaryDTO();
+            summary.setTotalAssets(rs.getLong(1));
+            summary.setTotalGrossCost(rs.getBigDecimal(2));
+            summary.setTotalAccumulatedDepreciation(rs.getBigDecimal(3));
+            summary.setTotalNetBookValue(rs.getBigDecimal(2).subtract(rs.getBigDecimal(3)));
+            summary.setTotalSalvageValue(rs.getBigDecimal(4));
+            summary.setNewAssets(rs.getLong(5));
+            summary.setActiveAssets(rs.getLong(6));
+            summary.setFullyDepreciatedAssets(rs.getLong(7));
+            summary.setHeldForSaleAssets(rs.getLong(8));
+            summary.setDisposedAssets(rs.getLong(9));
+            summary.setWrittenOffAssets(rs.getLong(10));
+            return summary;
+        });
+    }
+
+    /**
+     * All maintained groups
+     */
+    public List<FixedAssetTotalsRow> findAll() {
+        return jdbcTemplate.query(SELECT_TOTALS, TOTALS_ROW_MAPPER);
+    }
+
+    /**
+     * All groups recomputed from scratch from the assets
+     */
+    public List<FixedAssetTotalsRow> recomputeFromAssets() {
+        return jdbcTemplate.query(RECOMPUTE_TOTALS, TOTALS_ROW_MAPPER);
+    }
+
+    /**
+     * Replace the maintained groups with the groups recomputed from the assets
+     */
+    public int rebuild(LocalDateTime updatedAt) {
+        jdbcTemplate.update("DELETE FROM fixed_asset_totals");
+        return jdbcTemplate.update(INSERT_COLUMNS + "SELECT COALESCE(status, 'NEW'), class_id, " +
+                "COALESCE(department, ''), COUNT(*), SUM(initial_cost + COALESCE(cost_adjustment, 0)), " +
+                "SUM(COALESCE(accumulated_depreciation, 0)), SUM(COALESCE(salvage_value, 0)), ? " +
+                "FROM fixed_assets GROUP BY COALESCE(status, 'NEW'), class_id, COALESCE(department, '')",
+                Timestamp.valueOf(updatedAt));
+    }
+}
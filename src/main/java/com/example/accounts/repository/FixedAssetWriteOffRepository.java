@@ -1,12 +1,14 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.FixedAssetWriteOff;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +43,16 @@ public interface FixedAssetWriteOffRepository extends JpaRepository<FixedAssetWr
      * Find unposted write-offs
      */
     List<FixedAssetWriteOff> findByIsPostedFalse();
+
+    /**
+     * Find write-offs by ids together with their assets, for posting in bulk
+     */
+    @Query("SELECT fawo FROM FixedAssetWriteOff fawo JOIN FETCH fawo.fixedAsset WHERE fawo.writeOffId IN :ids")
+    List<FixedAssetWriteOff> findAllWithAssetByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the next chunk of ids of unposted write-offs after a given id (keyset pagination)
+     */
+    @Query("SELECT fawo.writeOffId FROM FixedAssetWriteOff fawo WHERE fawo.isPosted = false AND fawo.writeOffId > :afterId ORDER BY fawo.writeOffId")
+    List<Long> findUnpostedIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,37 @@
+package com.example.accounts.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide locks of scheduled jobs, one row per job in scheduler_locks.
+ * A lock is taken with a single conditional update, so exactly one node wins it, and it expires on its own
+ * if its holder dies without releasing it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Take a lock until the given time unless another owner holds it; returns whether it was taken
+     */
+    public boolean tryLock(String lockName, String owner, LocalDateTime now, LocalDateTime lockedUntil) {
+        return jdbcTemplate.update("UPDATE scheduler_locks SET locked_by = ?, locked_at = ?, locked_until = ? " +
+                        "WHERE lock_name = ? AND (locked_until IS NULL OR locked_until <= ?)",
+                owner, Timestamp.valueOf(now), Timestamp.valueOf(lockedUntil), lockName, Timestamp.valueOf(now)) == 1;
+    }
+
+    /**
+     * Release a lock held by the given owner
+     */
+    public void unlock(String lockName, String owner, LocalDateTime now) {
+        jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ? WHERE lock_name = ? AND locked_by = ?",
+                Timestamp.valueOf(now), lockName, owner);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves contiguous id blocks from the table-backed sequences used by Hibernate's pooled optimizer,
+ * for set-based INSERT ... SELECT statements that must not collide with ids Hibernate hands out.
+ * The pooled optimizer reads next_val T, advances it by the allocation size and uses ids T - size + 1 .. T,
+ * so a block starting at T - size + 1 is safe once next_val is advanced past it in whole allocation steps.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceBlockAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Reserve idCount consecutive ids and return the first one.
+     * Runs in its own short transaction so the sequence row is not locked for the caller's whole transaction.
+     */
+    public long reserve(String sequenceName, int allocationSize, int idCount) {
+        if (idCount < 1) {
+            throw new BusinessException("Number of ids to reserve must be at least 1");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Long firstId = transactionTemplate.execute(status -> {
+            Long nextValue = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM " + sequenceName + " FOR UPDATE", Long.class);
+            if (nextValue == null) {
+                throw new BusinessException("Sequence " + sequenceName + " is not initialized");
+            }
+
+            long steps = (idCount + allocationSize - 1) / allocationSize;
+            jdbcTemplate.update("UPDATE " + sequenceName + " SET next_val = ?", nextValue + steps * allocationSize);
+
+            return nextValue - allocationSize + 1;
+        });
+
+        log.debug("Reserved ids {}-{} from {}", firstId, firstId + idCount - 1, sequenceName);
+
+        return firstId;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.accounts.service;
+
+import com.example.accounts.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write commands on a single fixed asset.
+ * Each command runs in its own transaction and is retried a bounded number of times when the asset's
+ * optimistic lock version shows it was changed concurrently (another node, a bulk run).
+ * Within this node, commands on the same asset are additionally queued on one of a fixed number of
+ * fair lock stripes, so they do not conflict with each other at all while different assets run in parallel.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AssetCommandExecutor {
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${fixed-assets.asset-commands.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${fixed-assets.asset-commands.backoff-millis:20}")
+    private long backoffMillis;
+
+    /**
+     * Number of lock stripes (rounded up to a power of two); 0 disables in-process serialization
+     */
+    @Value("${fixed-assets.asset-commands.stripes:256}")
+    private int stripeCount;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ReentrantLock[] stripes;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        if (stripeCount > 0) {
+            int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+            stripes = new ReentrantLock[size];
+            for (int i = 0; i < size; i++) {
+                stripes[i] = new ReentrantLock(true);
+            }
+        }
+    }
+
+    /**
+     * Run a command on an asset without a result
+     */
+    public void run(Long assetId, Runnable command) {
+        execute(assetId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a command on an asset and return its result.
+     * Called inside an existing transaction the command simply joins it: the caller owns commit and retry.
+     */
+    public <T> T execute(Long assetId, Supplier<T> command) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return command.get();
+        }
+
+        ReentrantLock stripe = stripeFor(assetId);
+        if (stripe != null) {
+            stripe.lock();
+        }
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> command.get());
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        throw new BusinessException("Asset " + assetId + " was changed concurrently; gave up after " +
+                                attempt + " attempts");
+                    }
+
+                    log.warn("Asset {} was changed concurrently, retrying (attempt {} of {})", assetId, attempt + 1,
+                            maxAttempts);
+                    backOff(attempt);
+                }
+            }
+        } finally {
+            if (stripe != null) {
+                stripe.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(Long assetId) {
+        if (stripes == null) {
+            return null;
+        }
+
+        return stripes[Long.hashCode(assetId) & (stripes.length - 1)];
+    }
+
+    /**
+     * Linear backoff with jitter, so competing nodes do not retry in lockstep
+     */
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Interrupted while retrying a command on an asset");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BulkPostingResponse;
+import com.example.accounts.dto.BulkPostingTypeResponse;
+import com.example.accounts.entity.enums.PostingDocumentType;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service posting the backlog of unposted fixed asset documents of several types in one call
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkPostingService {
+
+    private final FixedAssetEntryRepository entryRepository;
+    private final FixedAssetCapitalImprovementRepository improvementRepository;
+    private final FixedAssetParameterChangeRepository parameterChangeRepository;
+    private final FixedAssetWriteOffRepository writeOffRepository;
+    private final FixedAssetSalePreparationRepository salePreparationRepository;
+    private final FixedAssetSaleRepository saleRepository;
+    private final FixedAssetEntryService entryService;
+    private final CapitalImprovementService improvementService;
+    private final ParameterChangeService parameterChangeService;
+    private final WriteOffService writeOffService;
+    private final SalePreparationService salePreparationService;
+    private final SaleService saleService;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Maximum number of failure messages returned in a bulk posting summary
+     */
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    /**
+     * Post all unposted documents of the given types (all types when empty) in dependency order:
+     * entries, then improvements and parameter changes, then write-offs, sale preparations and sales.
+     * Each type is read in id chunks and each chunk is posted in its own transaction with batched journal writes.
+     * When a chunk fails its documents are retried one by one, so one bad document only fails itself.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkPostingResponse postAllUnposted(Set<PostingDocumentType> types, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new BusinessException("Chunk size must be at least 1");
+        }
+
+        log.info("Posting all unposted documents of types {} in chunks of {}",
+                types == null || types.isEmpty() ? "ALL" : types, chunkSize);
+
+        long startTime = System.nanoTime();
+
+        BulkPostingResponse response = new BulkPostingResponse();
+        response.setChunkSize(chunkSize);
+        response.setDocumentCount(0);
+        response.setPostedCount(0);
+        response.setFailedCount(0);
+        response.setTypes(new ArrayList<>());
+        response.setFailures(new ArrayList<>());
+
+        for (PostingDocumentType type : PostingDocumentType.values()) {
+            if (types != null && !types.isEmpty() && !types.contains(type)) {
+                continue;
+            }
+
+            BulkPostingTypeResponse typeResponse = postAllUnposted(type, chunkSize, response.getFailures());
+            response.getTypes().add(typeResponse);
+            response.setDocumentCount(response.getDocumentCount() + typeResponse.getDocumentCount());
+            response.setPostedCount(response.getPostedCount() + typeResponse.getPostedCount());
+            response.setFailedCount(response.getFailedCount() + typeResponse.getFailedCount());
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setDocumentsPerSecond(throughput(response.getDocumentCount(), elapsedMillis));
+
+        log.info("Completed bulk posting. Documents: {}, Posted: {}, Failed: {}, Time: {} ms",
+                response.getDocumentCount(), response.getPostedCount(), response.getFailedCount(), elapsedMillis);
+
+        return response;
+    }
+
+    /**
+     * Post all unposted documents of one type, chunk by chunk
+     */
+    private BulkPostingTypeResponse postAllUnposted(PostingDocumentType type, int chunkSize, List<String> failures) {
+        long startTime = System.nanoTime();
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        BulkPostingTypeResponse response = new BulkPostingTypeResponse();
+        response.setDocumentType(type);
+        response.setDocumentCount(0);
+        response.setPostedCount(0);
+        response.setFailedCount(0);
+        response.setChunkCount(0);
+
+        long lastId = 0L;
+        while (true) {
+            List<Long> ids = findUnpostedIds(type, lastId, chunk);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            try {
+                transaction.executeWithoutResult(status -> post(type, ids));
+                response.setPostedCount(response.getPostedCount() + ids.size());
+            } catch (Exception e) {
+                log.warn("{} chunk {}-{} rolled back, posting its documents one by one: {}", type, ids.get(0),
+                        ids.get(ids.size() - 1), e.getMessage());
+                postOneByOne(type, ids, transaction, response, failures);
+            }
+
+            response.setDocumentCount(response.getDocumentCount() + ids.size());
+            response.setChunkCount(response.getChunkCount() + 1);
+            // Failed documents stay unposted; moving past them keeps the loop finite
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setDocumentsPerSecond(throughput(response.getDocumentCount(), elapsedMillis));
+
+        log.info("Posted {} of {} unposted {} documents in {} chunks, {} ms", response.getPostedCount(),
+                response.getDocumentCount(), type, response.getChunkCount(), elapsedMillis);
+
+        return response;
+    }
+
+    private void postOneByOne(PostingDocumentType type, List<Long> ids, TransactionTemplate transaction,
+                              BulkPostingTypeResponse response, List<String> failures) {
+        for (Long id : ids) {
+            try {
+                transaction.executeWithoutResult(status -> post(type, List.of(id)));
+                response.setPostedCount(response.getPostedCount() + 1);
+            } catch (Exception e) {
+                log.error("Error posting {} {}: {}", type, id, e.getMessage());
+                response.setFailedCount(response.getFailedCount() + 1);
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add(type + " " + id + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<Long> findUnpostedIds(PostingDocumentType type, Long afterId, Pageable chunk) {
+        return switch (type) {
+            case ENTRY -> entryRepository.findUnpostedIdsAfter(afterId, chunk);
+            case CAPITAL_IMPROVEMENT -> improvementRepository.findUnpostedIdsAfter(afterId, chunk);
+            case PARAMETER_CHANGE -> parameterChangeRepository.findUnpostedIdsAfter(afterId, chunk);
+            case WRITE_OFF -> writeOffRepository.findUnpostedIdsAfter(afterId, chunk);
+            case SALE_PREPARATION -> salePreparationRepository.findUnpostedIdsAfter(afterId, chunk);
+            case SALE -> saleRepository.findUnpostedIdsAfter(afterId, chunk);
+        };
+    }
+
+    private int post(PostingDocumentType type, List<Long> ids) {
+        return switch (type) {
+            case ENTRY -> entryService.postEntries(ids);
+            case CAPITAL_IMPROVEMENT -> improvementService.postImprovements(ids);
+            case PARAMETER_CHANGE -> parameterChangeService.postParameterChanges(ids);
+            case WRITE_OFF -> writeOffService.postWriteOffs(ids);
+            case SALE_PREPARATION -> salePreparationService.postSalePreparations(ids);
+            case SALE -> saleService.postSales(ids);
+        };
+    }
+
+    private double throughput(long documentCount, long elapsedMillis) {
+        return elapsedMillis > 0 ? documentCount * 1000.0 / elapsedMillis : documentCount;
+    }
+}
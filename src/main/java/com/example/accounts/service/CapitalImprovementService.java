@@ -1,20 +1,33 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.FixedAssetTotalsRow;
+import com.example.accounts.entity.ChartOfAccount;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetCapitalImprovement;
+import com.example.accounts.entity.JournalEntry;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetCapitalImprovementRepository;
 import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.journal.PostingAccounts;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Capital Improvements
@@ -27,6 +40,17 @@ public class CapitalImprovementService {
 
     private final FixedAssetCapitalImprovementRepository improvementRepository;
     private final FixedAssetRepository fixedAssetRepository;
+    private final JournalWriter journalWriter;
+    private final PostingAccounts postingAccounts;
+    private final EntityManager entityManager;
+    private final AssetCommandExecutor assetCommandExecutor;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Journal document type of capital improvement postings
+     */
+    private static final String JOURNAL_DOCUMENT_TYPE = "FA_CAPITAL_IMPROVEMENT";
 
     /**
      * Create capital improvement
@@ -55,20 +79,90 @@ public class CapitalImprovementService {
     }
 
     /**
-     * Post improvement (update asset cost and useful life)
+     * Post improvement (update asset cost and useful life).
+     * Runs as a command on the asset: serialized with other commands on it and retried on concurrent changes.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void postImprovement(Long improvementId) {
         log.info("Posting capital improvement: {}", improvementId);
 
-        FixedAssetCapitalImprovement improvement = improvementRepository.findById(improvementId)
+        Long assetId = improvementRepository.findFixedAssetIdById(improvementId)
                 .orElseThrow(
                         () -> new ResourceNotFoundException("Capital improvement not found with id: " + improvementId));
 
-        if (improvement.getIsPosted()) {
-            throw new BusinessException("Improvement is already posted");
+        assetCommandExecutor.run(assetId, () -> {
+            FixedAssetCapitalImprovement improvement = improvementRepository.findById(improvementId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Capital improvement not found with id: " + improvementId));
+
+            post(List.of(improvement));
+        });
+    }
+
+    /**
+     * Post improvements in one go: asset values are updated and the journal entries are written in JDBC batches
+     */
+    public int postImprovements(List<Long> improvementIds) {
+        log.info("Posting {} capital improvements", improvementIds.size());
+
+        List<FixedAssetCapitalImprovement> improvements = improvementRepository.findAllWithAssetByIdIn(improvementIds);
+        Set<Long> found = improvements.stream()
+                .map(FixedAssetCapitalImprovement::getImprovementId)
+                .collect(Collectors.toSet());
+        for (Long improvementId : improvementIds) {
+            if (!found.contains(improvementId)) {
+                throw new ResourceNotFoundException("Capital improvement not found with id: " + improvementId);
+            }
+        }
+
+        post(improvements);
+
+        return improvements.size();
+    }
+
+    /**
+     * Apply loaded improvements to their assets, journal them and mark them posted
+     */
+    private void post(List<FixedAssetCapitalImprovement> improvements) {
+        List<JournalDocument> documents = new ArrayList<>(improvements.size());
+        for (FixedAssetCapitalImprovement improvement : improvements) {
+            if (improvement.getIsPosted()) {
+                throw new BusinessException("Improvement " + improvement.getImprovementId() + " is already posted");
+            }
+
+            applyImprovement(improvement);
+            documents.add(toJournalDocument(improvement));
         }
 
+        List<Long> journalEntryIds = journalWriter.writeAll(documents);
+
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < improvements.size(); i++) {
+            FixedAssetCapitalImprovement improvement = improvements.get(i);
+            if (journalEntryIds.get(i) != null) {
+                improvement.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(i)));
+            }
+            improvement.setIsPosted(true);
+            improvement.setPostedDate(postedDate);
+
+            log.debug("Posted capital improvement {} for asset {}", improvement.getImprovementId(),
+                    improvement.getFixedAsset().getFixedAssetId());
+        }
+
+        improvementRepository.saveAll(improvements);
+        eventPublisher.publishEvent(new AssetsChangedEvent(improvements.stream()
+                .map(improvement -> improvement.getFixedAsset().getFixedAssetId())
+                .toList()));
+
+        log.info("Posted {} capital improvements", improvements.size());
+    }
+
+    /**
+     * Add the improvement cost to the asset, extend its useful life and increase its salvage value
+     */
+    private void applyImprovement(FixedAssetCapitalImprovement improvement) {
         FixedAsset asset = improvement.getFixedAsset();
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
 
         // Update asset cost
         BigDecimal currentAdjustment = asset.getCostAdjustment() != null ? asset.getCostAdjustment() : BigDecimal.ZERO;
@@ -90,14 +184,32 @@ public class CapitalImprovementService {
         }
 
         fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, asset);
+    }
 
-        // Mark improvement as posted
-        improvement.setIsPosted(true);
-        improvement.setPostedDate(LocalDateTime.now());
-
-        improvementRepository.save(improvement);
-
-        log.info("Posted capital improvement {} for asset {}", improvementId, asset.getFixedAssetId());
+    /**
+     * Dr. Fixed Assets at Cost, Cr. Capital Improvements (or Trade Payables) for the improvement cost
+     */
+    private JournalDocument toJournalDocument(FixedAssetCapitalImprovement improvement) {
+        FixedAsset asset = improvement.getFixedAsset();
+        String description = "Capital improvement " + improvement.getImprovementNumber() + " - " +
+                asset.getAssetNumber();
+
+        ChartOfAccount improvementsAccount = improvement.getCapitalImprovementsGlAccount() != null
+                ? improvement.getCapitalImprovementsGlAccount()
+                : asset.getCapitalImprovementsGlAccount();
+        Long creditAccountId = improvementsAccount != null
+                ? improvementsAccount.getAccountId()
+                : postingAccounts.tradePayables();
+
+        JournalDocument document = new JournalDocument("FAI-" + improvement.getImprovementId(),
+                improvement.getImprovementDate(), JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(improvement.getImprovementNumber());
+        document.setPostedBy(improvement.getPostedBy());
+        document.debit(asset.getGlAccount().getAccountId(), improvement.getImprovementCost(), description);
+        document.credit(creditAccountId, improvement.getImprovementCost(), description);
+
+        return document;
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetConservation;
 import com.example.accounts.entity.enums.AssetStatus;
@@ -7,8 +8,10 @@ import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetConservationRepository;
 import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.report.AssetsChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +30,8 @@ public class ConservationService {
 
     private final FixedAssetConservationRepository conservationRepository;
     private final FixedAssetRepository fixedAssetRepository;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Start conservation for an asset
@@ -98,8 +103,11 @@ public class ConservationService {
 
         // Resume depreciation (change asset status back to ACTIVE)
         FixedAsset asset = conservation.getFixedAsset();
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
         asset.setStatus(AssetStatus.ACTIVE);
         fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, asset);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(asset.getFixedAssetId()));
 
         log.info("Cancelled conservation {} and resumed depreciation for asset {}",
                 conservationId, asset.getFixedAssetId());
@@ -122,8 +130,11 @@ public class ConservationService {
 
         // Change asset status to IN_CONSERVATION
         FixedAsset asset = conservation.getFixedAsset();
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
         asset.setStatus(AssetStatus.IN_CONSERVATION);
         fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, asset);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(asset.getFixedAssetId()));
 
         // Mark conservation as posted
         conservation.setIsPosted(true);
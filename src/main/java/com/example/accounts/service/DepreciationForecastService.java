@@ -0,0 +1,129 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.dto.DepreciationForecastResponse;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.FixedAssetMonthlyUsageRepository;
+import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.depreciation.DepreciationProjector;
+import com.example.accounts.service.depreciation.ForecastBuckets;
+import com.example.accounts.util.LongIntMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service for the Depreciation Forecast.
+ * Projects future monthly depreciation of every active asset in memory and aggregates it
+ * by period, department and class. Nothing is written to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class DepreciationForecastService {
+
+    static final int MAX_FORECAST_MONTHS = 120;
+
+    private final FixedAssetRepository fixedAssetRepository;
+    private final FixedAssetMonthlyUsageRepository monthlyUsageRepository;
+    private final DepreciationProjector projector;
+
+    @Value("${fixed-assets.depreciation.max-workers:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int maxWorkers;
+
+    /**
+     * Project depreciation of all active assets for a number of months starting with the period of fromPeriod,
+     * with the rules of {@link DepreciationProjector#project}, using at most the configured maximum of workers.
+     */
+    public DepreciationForecastResponse forecastDepreciation(LocalDate fromPeriod, int months, int requestedWorkers) {
+        if (months < 1 || months > MAX_FORECAST_MONTHS) {
+            throw new BusinessException("Forecast months must be between 1 and " + MAX_FORECAST_MONTHS);
+        }
+        if (requestedWorkers < 1) {
+            throw new BusinessException("Number of workers must be at least 1");
+        }
+        int workers = Math.min(requestedWorkers, Math.max(maxWorkers, 1));
+
+        long startTime = System.nanoTime();
+        LocalDate firstPeriod = fromPeriod.with(TemporalAdjusters.lastDayOfMonth());
+
+        List<AssetDepreciationSnapshot> assets = fixedAssetRepository.findActiveDepreciationSnapshots();
+        LongIntMap averageUnits = loadAverageMonthlyUnits();
+
+        log.info("Forecasting depreciation of {} assets for {} months from {} with {} workers", assets.size(), months,
+                firstPeriod, workers);
+
+        ForecastBuckets buckets = new ForecastBuckets(firstPeriod, months);
+
+        int sliceCount = Math.min(workers, Math.max(assets.size(), 1));
+        int sliceSize = (assets.size() + sliceCount - 1) / sliceCount;
+
+        ExecutorService executor = Executors.newFixedThreadPool(sliceCount);
+        try {
+            List<Future<ForecastBuckets>> futures = new ArrayList<>();
+            for (int from = 0; from < assets.size(); from += sliceSize) {
+                List<AssetDepreciationSnapshot> slice = assets.subList(from, Math.min(from + sliceSize, assets.size()));
+                futures.add(executor.submit(() -> projectSlice(slice, firstPeriod, months, averageUnits)));
+            }
+
+            for (Future<ForecastBuckets> future : futures) {
+                buckets.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Depreciation forecast was interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException("Depreciation forecast failed: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DepreciationForecastResponse response = buckets.toResponse(months);
+        response.setAssetCount(assets.size());
+        response.setElapsedMillis((System.nanoTime() - startTime) / 1_000_000);
+
+        log.info("Completed depreciation forecast of {} assets in {} ms", assets.size(), response.getElapsedMillis());
+
+        return response;
+    }
+
+    private ForecastBuckets projectSlice(List<AssetDepreciationSnapshot> assets, LocalDate firstPeriod, int months,
+            LongIntMap averageUnits) {
+        ForecastBuckets buckets = new ForecastBuckets(firstPeriod, months);
+        for (AssetDepreciationSnapshot asset : assets) {
+            ForecastBuckets.Group group = buckets.group(asset.getDepartment(), asset.getClassName());
+            projector.project(asset, firstPeriod, months, averageUnits, group::add);
+        }
+        return buckets;
+    }
+
+    /**
+     * Average processed monthly units of every units of production asset with usage history
+     */
+    public LongIntMap loadAverageMonthlyUnits() {
+        List<Object[]> rows = monthlyUsageRepository.summarizeProcessedUnitsByAsset();
+        LongIntMap averageUnits = new LongIntMap(rows.size());
+
+        for (Object[] row : rows) {
+            long totalUnits = ((Number) row[1]).longValue();
+            long monthCount = ((Number) row[2]).longValue();
+            if (monthCount > 0) {
+                averageUnits.put(((Number) row[0]).longValue(), (int) Math.round((double) totalUnits / monthCount));
+            }
+        }
+
+        return averageUnits;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.DepreciationJobProgress;
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.entity.FixedAssetDepreciationRun;
+import com.example.accounts.entity.enums.DepreciationRunStatus;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.service.depreciation.DepreciationRunListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service for background Depreciation Jobs.
+ * A job is a registered depreciation run executed on a dedicated worker pool, so the request that
+ * submits it returns the run id at once. Progress is kept in memory while the job runs and pushed to
+ * server-sent event subscribers after every chunk; the run itself stays checkpointed in the database,
+ * so a cancelled or failed job can be resumed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepreciationJobService {
+
+    private static final long EMITTER_TIMEOUT_MILLIS = 60 * 60 * 1000L;
+
+    private final DepreciationRunService runService;
+
+    private final Map<Long, DepreciationJob> runningJobs = new ConcurrentHashMap<>();
+
+    @Value("${fixed-assets.depreciation.job-threads:2}")
+    private int jobThreads;
+
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        jobExecutor = Executors.newFixedThreadPool(jobThreads);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        // Interrupted jobs keep their last checkpoint and are resumed like a failed run
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Register a depreciation run for a period and execute it in the background
+     */
+    public DepreciationJobProgress submitJob(LocalDate period, int chunkSize) {
+        FixedAssetDepreciationRun run = runService.createRun(period, chunkSize);
+        return launch(run);
+    }
+
+    /**
+     * Resume an unfinished depreciation run in the background.
+     * The job is registered before the run is reopened, so that of concurrent resumes only one starts it.
+     */
+    public DepreciationJobProgress resumeJob(Long runId) {
+        DepreciationJob job = new DepreciationJob(runService.getRunById(runId));
+        if (runningJobs.putIfAbsent(runId, job) != null) {
+            throw new BusinessException("Depreciation job " + runId + " is already running");
+        }
+
+        try {
+            job.run = runService.reopenRun(runId);
+        } catch (RuntimeException e) {
+            runningJobs.remove(runId, job);
+            throw e;
+        }
+        return start(job);
+    }
+
+    /**
+     * Request a running job to stop; it stops as CANCELLED after the chunk in progress
+     */
+    public DepreciationJobProgress cancelJob(Long runId) {
+        DepreciationJob job = runningJobs.get(runId);
+        if (job == null) {
+            throw new BusinessException("Depreciation job " + runId + " is not running");
+        }
+
+        job.cancelled = true;
+        log.info("Cancellation requested for depreciation job {}", runId);
+
+        return job.progress();
+    }
+
+    /**
+     * Get the progress of a job; finished jobs report their final counters
+     */
+    public DepreciationJobProgress getProgress(Long runId) {
+        DepreciationJob job = runningJobs.get(runId);
+        if (job != null) {
+            return job.progress();
+        }
+        return toProgress(runService.getRunById(runId), null, 0);
+    }
+
+    /**
+     * Get the compact summary of a finished job
+     */
+    public DepreciationRunResponse getResult(Long runId) {
+        if (runningJobs.containsKey(runId)) {
+            throw new BusinessException("Depreciation job " + runId + " is still running");
+        }
+        return runService.getRunSummary(runId);
+    }
+
+    /**
+     * Subscribe to progress events of a job. The current progress is sent at once; events follow
+     * after every chunk, and the stream completes when the job ends.
+     */
+    public SseEmitter subscribe(Long runId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        DepreciationJob job = runningJobs.get(runId);
+
+        if (job == null) {
+            DepreciationJobProgress progress = getProgress(runId);
+            send(emitter, eventName(progress.getStatus()), progress);
+            emitter.complete();
+            return emitter;
+        }
+
+        job.emitters.add(emitter);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        send(emitter, "progress", job.progress());
+
+        // The job may have ended before the emitter was added; whoever removes the emitter ends its stream
+        if (runningJobs.get(runId) != job && job.emitters.remove(emitter)) {
+            DepreciationJobProgress progress = job.progress();
+            send(emitter, eventName(progress.getStatus()), progress);
+            emitter.complete();
+        }
+
+        return emitter;
+    }
+
+    private DepreciationJobProgress launch(FixedAssetDepreciationRun run) {
+        DepreciationJob job = new DepreciationJob(run);
+        runningJobs.put(run.getRunId(), job);
+        return start(job);
+    }
+
+    /**
+     * Execute a registered job in the background
+     */
+    private DepreciationJobProgress start(DepreciationJob job) {
+        jobExecutor.submit(() -> execute(job));
+
+        log.info("Submitted depreciation job {} for period {}", job.run.getRunId(), job.run.getDepreciationPeriod());
+
+        return job.progress();
+    }
+
+    private void execute(DepreciationJob job) {
+        Long runId = job.run.getRunId();
+        try {
+            job.run = runService.executeRun(runId, job);
+        } catch (Exception e) {
+            log.error("Depreciation job {} failed: {}", runId, e.getMessage());
+            job.run = runService.getRunById(runId);
+        } finally {
+            runningJobs.remove(runId);
+
+            DepreciationJobProgress progress = job.progress();
+            for (SseEmitter emitter : job.emitters) {
+                if (job.emitters.remove(emitter)) {
+                    send(emitter, eventName(progress.getStatus()), progress);
+                    emitter.complete();
+                }
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, String eventName, DepreciationJobProgress progress) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(progress));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the job carries on
+            emitter.completeWithError(e);
+        }
+    }
+
+    private String eventName(DepreciationRunStatus status) {
+        return status == DepreciationRunStatus.RUNNING ? "progress" : status.name().toLowerCase();
+    }
+
+    /**
+     * Progress from run counters; throughput and ETA cover the assets processed since the job (re)started
+     */
+    private DepreciationJobProgress toProgress(FixedAssetDepreciationRun run, Long startNanos,
+            int processedAtStart) {
+        DepreciationJobProgress progress = new DepreciationJobProgress();
+        progress.setRunId(run.getRunId());
+        progress.setPeriod(run.getDepreciationPeriod());
+        progress.setStatus(run.getStatus());
+        progress.setTotalAssets(run.getTotalAssets());
+        progress.setProcessedCount(run.getProcessedCount());
+        progress.setSuccessCount(run.getSuccessCount());
+        progress.setErrorCount(run.getErrorCount());
+        progress.setFailureReason(run.getFailureReason());
+
+        if (startNanos != null) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            int processed = run.getProcessedCount() - processedAtStart;
+            double assetsPerSecond = elapsedMillis > 0 ? processed * 1000.0 / elapsedMillis : 0.0;
+
+            progress.setElapsedMillis(elapsedMillis);
+            progress.setAssetsPerSecond(assetsPerSecond);
+            if (assetsPerSecond > 0 && run.getTotalAssets() != null) {
+                int remaining = Math.max(0, run.getTotalAssets() - run.getProcessedCount());
+                progress.setEtaSeconds((long) Math.ceil(remaining / assetsPerSecond));
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * In-memory state of a running job
+     */
+    private class DepreciationJob implements DepreciationRunListener {
+
+        private final long startNanos = System.nanoTime();
+        private final int processedAtStart;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile FixedAssetDepreciationRun run;
+        private volatile boolean cancelled;
+
+        DepreciationJob(FixedAssetDepreciationRun run) {
+            this.run = run;
+            this.processedAtStart = run.getProcessedCount();
+        }
+
+        @Override
+        public void onChunkCompleted(FixedAssetDepreciationRun checkpoint) {
+            run = checkpoint;
+
+            DepreciationJobProgress progress = progress();
+            for (SseEmitter emitter : emitters) {
+                send(emitter, "progress", progress);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        DepreciationJobProgress progress() {
+            return toProgress(run, startNanos, processedAtStart);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.DepreciationPartitionResponse;
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.entity.FixedAssetDepreciationLease;
+import com.example.accounts.entity.enums.DepreciationLeaseStatus;
+import com.example.accounts.entity.enums.DepreciationRunMode;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.FixedAssetDepreciationLeaseRepository;
+import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.depreciation.DepreciationChunkResult;
+import com.example.accounts.service.depreciation.MonthlyUsageSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for cluster-coordinated Depreciation Runs.
+ * The first node to run a period splits the assets needing depreciation into id-range partitions stored in
+ * fixed_asset_depreciation_leases. Every node running the period then claims partitions with an expiring lease,
+ * commits them chunk by chunk (each chunk renews the lease and advances the partition checkpoint in the same
+ * transaction) and marks them completed. A partition whose node died is claimed again once its lease expires
+ * and resumed from its checkpoint; a node that lost its lease rolls back its chunk instead of racing the new owner.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepreciationLeaseService {
+
+    private final FixedAssetDepreciationLeaseRepository leaseRepository;
+    private final FixedAssetRepository fixedAssetRepository;
+    private final DepreciationService depreciationService;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Number of claimable partitions read per claim attempt; nodes try them in random order to spread contention
+     */
+    private static final int CLAIM_CANDIDATES = 10;
+
+    @Value("${fixed-assets.depreciation.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${fixed-assets.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+
+    @PostConstruct
+    void initNodeId() {
+        // Defaults to pid@host, unique per JVM
+        nodeId = configuredNodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : configuredNodeId;
+    }
+
+    /**
+     * Take part in the depreciation run of a period: claim and process partitions until none is left to claim.
+     * Returns what this node processed; partitions still leased by other nodes are left to them.
+     */
+    public DepreciationRunResponse runLeased(LocalDate period, int partitionSize, int chunkSize) {
+        if (partitionSize < 1 || chunkSize < 1) {
+            throw new BusinessException("Partition size and chunk size must be at least 1");
+        }
+
+        // One owner per call, so two runs on the same node never share a lease
+        String owner = nodeId + "/" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("Running leased depreciation for period {} as {}", period, owner);
+
+        long startTime = System.nanoTime();
+        TransactionTemplate transaction = newTransaction();
+
+        int appendedAssets = createPartitions(period, partitionSize, transaction);
+        MonthlyUsageSnapshot usage = depreciationService.loadMonthlyUsage(period);
+
+        List<DepreciationPartitionResponse> partitions = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        FixedAssetDepreciationLease lease;
+        while ((lease = claimNext(period, owner, transaction)) != null) {
+            partitions.add(processPartition(lease, owner, usage, chunkSize, transaction, errors));
+        }
+
+        DepreciationRunResponse response = new DepreciationRunResponse();
+        response.setPeriod(period);
+        response.setMode(DepreciationRunMode.LEASED);
+        response.setWorkers(1);
+        response.setTotalAssets(partitions.stream().mapToInt(DepreciationPartitionResponse::getAssetCount).sum());
+        response.setSuccessCount(partitions.stream().mapToInt(DepreciationPartitionResponse::getSuccessCount).sum());
+        response.setErrorCount(partitions.stream().mapToInt(DepreciationPartitionResponse::getErrorCount).sum());
+        response.setTotalDepreciationAmount(partitions.stream()
+                .map(DepreciationPartitionResponse::getDepreciationAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        response.setPartitions(partitions);
+
+        List<String> reported = new ArrayList<>(usage.summarizeUnavailableUsage());
+        if (appendedAssets > 0) {
+            reported.add(appendedAssets + " assets became eligible after the period was partitioned " +
+                    "and were added in new partitions");
+        }
+        reported.addAll(errors);
+        response.setErrors(reported);
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setAssetsPerSecond(elapsedMillis > 0
+                ? response.getTotalAssets() * 1000.0 / elapsedMillis
+                : response.getTotalAssets());
+
+        log.info("Leased depreciation for period {} done on {}: {} partitions, {} assets, {} errors; " +
+                        "{} partitions still leased by other nodes", period, owner, partitions.size(),
+                response.getTotalAssets(), response.getErrorCount(),
+                leaseRepository.countActiveLeases(period, LocalDateTime.now()));
+
+        return response;
+    }
+
+    /**
+     * Get the partitions of a period with their lease and progress
+     */
+    public List<FixedAssetDepreciationLease> getLeases(LocalDate period) {
+        return leaseRepository.findByDepreciationPeriodOrderByPartitionNumber(period);
+    }
+
+    /**
+     * Split the assets needing depreciation into partitions, unless a node already did for this period.
+     * Assets that become eligible after that, or have ids beyond the last partition, are not covered by the
+     * existing partitions; once every partition is completed, they are split into partitions appended after them.
+     * Two nodes racing here both insert the same partition number; the unique key lets only one of them commit.
+     * Returns the number of assets in appended partitions.
+     */
+    private int createPartitions(LocalDate period, int partitionSize, TransactionTemplate transaction) {
+        int firstPartitionNumber = 1;
+        if (leaseRepository.countByDepreciationPeriod(period) > 0) {
+            if (leaseRepository.countByDepreciationPeriodAndStatusNot(period, DepreciationLeaseStatus.COMPLETED) > 0
+                    || fixedAssetRepository.countAssetsNeedingDepreciation(period) == 0) {
+                return 0;
+            }
+            firstPartitionNumber = leaseRepository.findMaxPartitionNumber(period) + 1;
+        }
+
+        List<Long> assetIds = fixedAssetRepository.findAssetIdsNeedingDepreciation(period);
+        List<FixedAssetDepreciationLease> leases = new ArrayList<>();
+        for (int from = 0; from < assetIds.size(); from += partitionSize) {
+            int to = Math.min(from + partitionSize, assetIds.size());
+
+            FixedAssetDepreciationLease lease = new FixedAssetDepreciationLease();
+            lease.setDepreciationPeriod(period);
+            lease.setPartitionNumber(firstPartitionNumber + leases.size());
+            lease.setFirstAssetId(assetIds.get(from));
+            lease.setLastAssetId(assetIds.get(to - 1));
+            lease.setAssetCount(to - from);
+            leases.add(lease);
+        }
+        if (leases.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transaction.executeWithoutResult(status -> leaseRepository.saveAll(leases));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Depreciation partitions {}+ for period {} were created by another node", firstPartitionNumber,
+                    period);
+            return 0;
+        }
+
+        if (firstPartitionNumber > 1) {
+            log.warn("{} assets became eligible for period {} after it was partitioned; appended partitions {}-{}",
+                    assetIds.size(), period, firstPartitionNumber, firstPartitionNumber + leases.size() - 1);
+        } else {
+            log.info("Created {} depreciation partitions for period {} ({} assets)", leases.size(), period,
+                    assetIds.size());
+        }
+        return firstPartitionNumber > 1 ? assetIds.size() : 0;
+    }
+
+    /**
+     * Claim an unclaimed or expired partition of the period, or return null when there is none left
+     */
+    private FixedAssetDepreciationLease claimNext(LocalDate period, String owner, TransactionTemplate transaction) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> candidates = new ArrayList<>(
+                    leaseRepository.findClaimableLeaseIds(period, now, PageRequest.of(0, CLAIM_CANDIDATES)));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            Collections.shuffle(candidates);
+            for (Long leaseId : candidates) {
+                FixedAssetDepreciationLease claimed = transaction.execute(status ->
+                        leaseRepository.claim(leaseId, owner, now, now.plusSeconds(leaseSeconds)) == 1
+                                ? leaseRepository.findById(leaseId).orElse(null)
+                                : null);
+                if (claimed != null) {
+                    log.info("Claimed depreciation partition {} (assets {}-{}) as {}", claimed.getPartitionNumber(),
+                            claimed.getFirstAssetId(), claimed.getLastAssetId(), owner);
+                    return claimed;
+                }
+            }
+            // Every candidate was claimed by another node in the meantime; look again
+        }
+    }
+
+    /**
+     * Process a claimed partition from its checkpoint, chunk by chunk, while the lease is held
+     */
+    private DepreciationPartitionResponse processPartition(FixedAssetDepreciationLease lease, String owner,
+            MonthlyUsageSnapshot usage, int chunkSize, TransactionTemplate transaction, List<String> errors) {
+        long startTime = System.nanoTime();
+        LocalDate period = lease.getDepreciationPeriod();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+
+        DepreciationPartitionResponse result = new DepreciationPartitionResponse();
+        result.setPartitionNumber(lease.getPartitionNumber());
+        result.setFirstAssetId(lease.getFirstAssetId());
+        result.setLastAssetId(lease.getLastAssetId());
+        result.setAssetCount(0);
+        result.setSuccessCount(0);
+        result.setErrorCount(0);
+        result.setDepreciationAmount(BigDecimal.ZERO);
+
+        long lastAssetId = lease.getLastProcessedAssetId() != null
+                ? lease.getLastProcessedAssetId()
+                : lease.getFirstAssetId() - 1;
+        boolean held = true;
+
+        while (held) {
+            List<Long> assetIds = fixedAssetRepository.findAssetIdsNeedingDepreciationBetween(period, lastAssetId,
+                    lease.getLastAssetId(), chunk);
+            if (assetIds.isEmpty()) {
+                break;
+            }
+
+            try {
+                DepreciationChunkResult chunk = transaction.execute(
+                        status -> processChunk(lease.getLeaseId(), owner, period, usage, assetIds, status));
+                if (chunk == null) {
+                    held = false;
+                } else {
+                    result.setSuccessCount(result.getSuccessCount() + chunk.getSuccessCount());
+                    result.setErrorCount(result.getErrorCount() + assetIds.size() - chunk.getSuccessCount());
+                    result.setDepreciationAmount(result.getDepreciationAmount().add(chunk.getTotalAmount()));
+                    chunk.getFailures().forEach((assetId, reason) -> {
+                        log.error("Error calculating depreciation for asset {}: {}", assetId, reason);
+                        addError(errors, "Asset " + assetId + ": " + reason);
+                    });
+                }
+            } catch (Exception e) {
+                log.error("Depreciation partition {} chunk {}-{} rolled back: {}", lease.getPartitionNumber(),
+                        assetIds.get(0), assetIds.get(assetIds.size() - 1), e.getMessage());
+                addError(errors, "Assets " + assetIds.get(0) + "-" + assetIds.get(assetIds.size() - 1)
+                        + " rolled back: " + e.getMessage());
+                result.setErrorCount(result.getErrorCount() + assetIds.size());
+            }
+
+            result.setAssetCount(result.getAssetCount() + assetIds.size());
+            lastAssetId = assetIds.get(assetIds.size() - 1);
+        }
+
+        if (held) {
+            held = Boolean.TRUE.equals(transaction.execute(
+                    status -> leaseRepository.complete(lease.getLeaseId(), owner, LocalDateTime.now()) == 1));
+        }
+        if (!held) {
+            log.warn("Lost the lease on depreciation partition {} to another node", lease.getPartitionNumber());
+            addError(errors, "Partition " + lease.getPartitionNumber() + " was taken over by another node");
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        result.setElapsedMillis(elapsedMillis);
+        result.setAssetsPerSecond(elapsedMillis > 0
+                ? result.getAssetCount() * 1000.0 / elapsedMillis
+                : result.getAssetCount());
+
+        return result;
+    }
+
+    /**
+     * Depreciate one chunk, then advance the partition checkpoint and renew the lease in the same transaction.
+     * Rolls back and returns null when the lease was taken over by another node.
+     */
+    private DepreciationChunkResult processChunk(Long leaseId, String owner, LocalDate period,
+            MonthlyUsageSnapshot usage, List<Long> assetIds, TransactionStatus status) {
+        DepreciationChunkResult chunk = depreciationService.calculateDepreciationChunkInBatch(assetIds, period,
+                usage);
+        int errorCount = assetIds.size() - chunk.getSuccessCount();
+
+        int renewed = leaseRepository.checkpoint(leaseId, owner, assetIds.get(assetIds.size() - 1),
+                chunk.getSuccessCount(), errorCount, chunk.getTotalAmount(),
+                LocalDateTime.now().plusSeconds(leaseSeconds));
+        if (renewed == 0) {
+            status.setRollbackOnly();
+            return null;
+        }
+
+        return chunk;
+    }
+
+    private void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Transaction template for claims and chunks that must commit independently of each other
+     */
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.dto.DepreciationForecastLineDTO;
+import com.example.accounts.dto.DepreciationPreviewAssetDTO;
+import com.example.accounts.dto.DepreciationPreviewResponse;
+import com.example.accounts.entity.enums.DepreciationMethod;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.FixedAssetMonthlyUsageRepository;
+import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.depreciation.DepreciationBatch;
+import com.example.accounts.service.depreciation.DepreciationPreviewListener;
+import com.example.accounts.service.depreciation.DepreciationStrategies;
+import com.example.accounts.service.depreciation.MonthlyUsageSnapshot;
+import com.example.accounts.util.ScaledMoney;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service for Depreciation Run previews.
+ * Calculates what a month-end run would produce for every asset needing depreciation, with the same
+ * validation and amounts as the run, but on read-only snapshots: nothing is inserted or updated.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class DepreciationPreviewService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int STRATEGY_BATCH_SIZE = 1000;
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final FixedAssetRepository fixedAssetRepository;
+    private final FixedAssetMonthlyUsageRepository monthlyUsageRepository;
+    private final DepreciationStrategies depreciationStrategies;
+
+    @Value("${fixed-assets.depreciation.max-workers:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int maxWorkers;
+
+    /**
+     * Preview the depreciation run for a period using parallel workers, at most the configured maximum
+     * (by default the number of processors)
+     */
+    public DepreciationPreviewResponse previewMonthlyDepreciation(LocalDate period, int requestedWorkers) {
+        if (requestedWorkers < 1) {
+            throw new BusinessException("Number of workers must be at least 1");
+        }
+        int workers = Math.min(requestedWorkers, Math.max(maxWorkers, 1));
+
+        long startTime = System.nanoTime();
+
+        List<AssetDepreciationSnapshot> assets = fixedAssetRepository.findDepreciationSnapshotsNeedingDepreciation(
+                period);
+        MonthlyUsageSnapshot usage = MonthlyUsageSnapshot.of(period, monthlyUsageRepository.findUnitsByPeriod(period));
+
+        log.info("Previewing depreciation of {} assets for period {} with {} workers", assets.size(), period,
+                workers);
+
+        PreviewTotals totals = new PreviewTotals();
+
+        int sliceCount = Math.min(workers, Math.max(assets.size(), 1));
+        int sliceSize = (assets.size() + sliceCount - 1) / sliceCount;
+
+        ExecutorService executor = Executors.newFixedThreadPool(sliceCount);
+        try {
+            List<Future<PreviewTotals>> futures = new ArrayList<>();
+            for (int from = 0; from < assets.size(); from += sliceSize) {
+                List<AssetDepreciationSnapshot> slice = assets.subList(from, Math.min(from + sliceSize, assets.size()));
+                futures.add(executor.submit(() -> previewSlice(slice, period, usage)));
+            }
+
+            for (Future<PreviewTotals> future : futures) {
+                totals.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Depreciation preview for period " + period + " was interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException(
+                    "Depreciation preview for period " + period + " failed: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DepreciationPreviewResponse response = toResponse(totals, period, usage);
+        response.setWorkers(workers);
+        response.setTotalAssets(assets.size());
+        response.setElapsedMillis((System.nanoTime() - startTime) / 1_000_000);
+
+        log.info("Completed depreciation preview for period {}. Success: {}, Errors: {}, {} ms", period,
+                response.getSuccessCount(), response.getErrorCount(), response.getElapsedMillis());
+
+        return response;
+    }
+
+    /**
+     * Preview the depreciation of given assets for a period, reporting each asset's outcome to a listener,
+     * grouped by depreciation method. Nothing is inserted or updated.
+     */
+    public void previewAssets(Collection<Long> assetIds, LocalDate period, MonthlyUsageSnapshot usage,
+            DepreciationPreviewListener listener) {
+        previewSlice(fixedAssetRepository.findDepreciationSnapshotsByIds(assetIds), period, usage, listener);
+    }
+
+    private PreviewTotals previewSlice(List<AssetDepreciationSnapshot> assets, LocalDate period,
+            MonthlyUsageSnapshot usage) {
+        PreviewTotals totals = new PreviewTotals();
+        previewSlice(assets, period, usage, totals);
+        return totals;
+    }
+
+    private void previewSlice(List<AssetDepreciationSnapshot> assets, LocalDate period, MonthlyUsageSnapshot usage,
+            DepreciationPreviewListener listener) {
+        for (int from = 0; from < assets.size(); from += STRATEGY_BATCH_SIZE) {
+            previewBatch(assets.subList(from, Math.min(from + STRATEGY_BATCH_SIZE, assets.size())), period, usage,
+                    listener);
+        }
+    }
+
+    /**
+     * Validate assets the way the run would, calculate them with one strategy call per depreciation method,
+     * and report each asset's outcome to the listener
+     */
+    private void previewBatch(List<AssetDepreciationSnapshot> assets, LocalDate period, MonthlyUsageSnapshot usage,
+            DepreciationPreviewListener listener) {
+        Map<DepreciationMethod, List<AssetDepreciationSnapshot>> assetsByMethod = new EnumMap<>(
+                DepreciationMethod.class);
+        Map<DepreciationMethod, DepreciationBatch> batches = new EnumMap<>(DepreciationMethod.class);
+
+        for (AssetDepreciationSnapshot asset : assets) {
+            try {
+                long grossCost = ScaledMoney.add(ScaledMoney.of(asset.getInitialCost()),
+                        ScaledMoney.of(asset.getCostAdjustment()));
+                long salvageValue = ScaledMoney.of(asset.getSalvageValue());
+                long netBookValue = ScaledMoney.subtract(grossCost,
+                        ScaledMoney.of(asset.getAccumulatedDepreciation()));
+
+                if (asset.getDepreciationStartDate() == null) {
+                    throw new BusinessException(
+                            "Depreciation start date is not set for asset " + asset.getFixedAssetId());
+                }
+                if (period.isBefore(asset.getDepreciationStartDate())) {
+                    throw new BusinessException(
+                            "Cannot depreciate before depreciation start date: " + asset.getDepreciationStartDate());
+                }
+                if (netBookValue <= salvageValue) {
+                    throw new BusinessException("Asset is already fully depreciated");
+                }
+
+                DepreciationMethod method = asset.getDepreciationMethod();
+                int unitsUsed = 0;
+                if (depreciationStrategies.get(method).usesUnits()) {
+                    unitsUsed = usage.unitsUsed(asset.getFixedAssetId());
+                    if (unitsUsed < 0) {
+                        // Reported together with the other assets lacking usage
+                        listener.onUsageUnavailable(asset);
+                        continue;
+                    }
+                }
+
+                batches.computeIfAbsent(method, m -> new DepreciationBatch(assets.size())).add(grossCost,
+                        salvageValue, netBookValue, asset.getUsefulLifeMonths(), asset.getTotalUnits(), unitsUsed,
+                        DepreciationBatch.elapsedMonths(asset.getDepreciationStartDate(), period));
+                assetsByMethod.computeIfAbsent(method, m -> new ArrayList<>()).add(asset);
+            } catch (BusinessException | ArithmeticException e) {
+                listener.onRejected(asset, e.getMessage());
+            }
+        }
+
+        assetsByMethod.forEach((method, group) -> {
+            DepreciationBatch batch = batches.get(method);
+            long[] amounts;
+            try {
+                amounts = depreciationStrategies.calculate(method, batch);
+            } catch (ArithmeticException e) {
+                group.forEach(asset -> listener.onRejected(asset, e.getMessage()));
+                return;
+            }
+
+            for (int i = 0; i < group.size(); i++) {
+                AssetDepreciationSnapshot asset = group.get(i);
+                if (batch.isRejected(i)) {
+                    listener.onRejected(asset, batch.getRejection(i));
+                    continue;
+                }
+                listener.onCalculated(asset, amounts[i], batch.netBookValue()[i], batch.salvageValue()[i]);
+            }
+        });
+    }
+
+    private DepreciationPreviewResponse toResponse(PreviewTotals totals, LocalDate period,
+            MonthlyUsageSnapshot usage) {
+        List<DepreciationForecastLineDTO> lines = new ArrayList<>();
+        long totalAmount = 0L;
+        int successCount = 0;
+
+        for (GroupTotals group : totals.groups.values()) {
+            lines.add(new DepreciationForecastLineDTO(period, group.department, group.className, group.assetCount,
+                    ScaledMoney.toBigDecimal(group.amount)));
+            totalAmount = ScaledMoney.add(totalAmount, group.amount);
+            successCount += group.assetCount;
+        }
+
+        lines.sort(Comparator.comparing(DepreciationForecastLineDTO::getDepartment, NULLS_FIRST)
+                .thenComparing(DepreciationForecastLineDTO::getClassName, NULLS_FIRST));
+        totals.fullyDepreciatedAssets.sort(Comparator.comparing(DepreciationPreviewAssetDTO::getFixedAssetId));
+
+        List<String> errors = new ArrayList<>(usage.summarizeUnavailableUsage());
+        errors.addAll(totals.errors);
+
+        DepreciationPreviewResponse response = new DepreciationPreviewResponse();
+        response.setPeriod(period);
+        response.setSuccessCount(successCount);
+        response.setErrorCount(totals.errorCount + totals.unavailableUsageCount);
+        response.setTotalDepreciationAmount(ScaledMoney.toBigDecimal(totalAmount));
+        response.setLines(lines);
+        response.setFullyDepreciatedAssets(totals.fullyDepreciatedAssets);
+        response.setErrors(errors);
+
+        return response;
+    }
+
+    /**
+     * Preview results of one worker
+     */
+    private static class PreviewTotals implements DepreciationPreviewListener {
+
+        private final Map<String, GroupTotals> groups = new HashMap<>();
+        private final List<DepreciationPreviewAssetDTO> fullyDepreciatedAssets = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int errorCount;
+        private int unavailableUsageCount;
+
+        void add(String department, String className, long amount) {
+            GroupTotals group = groups.computeIfAbsent(department + "|" + className,
+                    key -> new GroupTotals(department, className));
+            group.amount = ScaledMoney.add(group.amount, amount);
+            group.assetCount++;
+        }
+
+        @Override
+        public void onCalculated(AssetDepreciationSnapshot asset, long amount, long netBookValue,
+                long salvageValue) {
+            long closingNetBookValue = ScaledMoney.subtract(netBookValue, amount);
+
+            add(asset.getDepartment(), asset.getClassName(), amount);
+
+            if (closingNetBookValue <= salvageValue) {
+                fullyDepreciatedAssets.add(new DepreciationPreviewAssetDTO(asset.getFixedAssetId(),
+                        asset.getAssetNumber(), asset.getDepartment(), asset.getClassName(),
+                        ScaledMoney.toBigDecimal(amount), ScaledMoney.toBigDecimal(closingNetBookValue)));
+            }
+        }
+
+        @Override
+        public void onRejected(AssetDepreciationSnapshot asset, String reason) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Asset " + asset.getFixedAssetId() + ": " + reason);
+            }
+        }
+
+        @Override
+        public void onUsageUnavailable(AssetDepreciationSnapshot asset) {
+            unavailableUsageCount++;
+        }
+
+        void merge(PreviewTotals other) {
+            other.groups.forEach((key, otherGroup) -> {
+                GroupTotals group = groups.computeIfAbsent(key,
+                        k -> new GroupTotals(otherGroup.department, otherGroup.className));
+                group.amount = ScaledMoney.add(group.amount, otherGroup.amount);
+                group.assetCount += otherGroup.assetCount;
+            });
+            fullyDepreciatedAssets.addAll(other.fullyDepreciatedAssets);
+            other.errors.stream().limit(MAX_REPORTED_ERRORS - errors.size()).forEach(errors::add);
+            errorCount += other.errorCount;
+            unavailableUsageCount += other.unavailableUsageCount;
+        }
+    }
+
+    /**
+     * Depreciation amount and number of assets for one department and class
+     */
+    private static class GroupTotals {
+
+        private final String department;
+        private final String className;
+        private long amount;
+        private int assetCount;
+
+        GroupTotals(String department, String className) {
+            this.department = department;
+            this.className = className;
+        }
+    }
+}
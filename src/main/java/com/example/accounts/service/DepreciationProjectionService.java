@@ -0,0 +1,173 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.dto.DepreciationForecastResponse;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.depreciation.AssetScheduleChangedEvent;
+import com.example.accounts.service.depreciation.DepreciationProjector;
+import com.example.accounts.service.depreciation.ForecastBuckets;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import com.example.accounts.util.LongIntMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Service for the maintained Depreciation Projection.
+ * Keeps the forecast of the active portfolio from the current month up to the maximum forecast horizon
+ * in memory, by period, department and class. It is built once per month and kept current incrementally:
+ * a posted parameter change takes the old remaining schedule of its asset out of the buckets and adds
+ * the new one, instead of projecting the whole portfolio again. Any other committed change to assets,
+ * such as a depreciation run, marks the projection stale, so that the next read builds it again
+ * rather than later parameter changes taking out schedules it was never built with.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepreciationProjectionService {
+
+    private final FixedAssetRepository fixedAssetRepository;
+    private final DepreciationForecastService forecastService;
+    private final DepreciationProjector projector;
+
+    private Projection projection;
+
+    /**
+     * Projected depreciation for a number of months starting with the current month, building the projection
+     * first if there is none for the current month yet
+     */
+    @Transactional(readOnly = true)
+    public synchronized DepreciationForecastResponse getProjection(int months) {
+        if (months < 1 || months > DepreciationForecastService.MAX_FORECAST_MONTHS) {
+            throw new BusinessException("Projection months must be between 1 and "
+                    + DepreciationForecastService.MAX_FORECAST_MONTHS);
+        }
+
+        if (projection == null || !projection.buckets.getFirstPeriod().equals(currentPeriod())) {
+            projection = build();
+        }
+
+        return toResponse(projection, months);
+    }
+
+    /**
+     * Project the whole active portfolio again
+     */
+    @Transactional(readOnly = true)
+    public synchronized DepreciationForecastResponse rebuild() {
+        projection = build();
+        return toResponse(projection, DepreciationForecastService.MAX_FORECAST_MONTHS);
+    }
+
+    /**
+     * Re-project the asset of a committed parameter change: O(remaining months of the asset)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAssetScheduleChanged(AssetScheduleChangedEvent event) {
+        long receivedAt = System.nanoTime();
+
+        synchronized (this) {
+            // A projection built after the change was committed already contains it
+            if (projection == null || receivedAt < projection.buildStartedAt
+                    || !projection.buckets.getFirstPeriod().equals(currentPeriod())) {
+                return;
+            }
+
+            if (event.getBefore() != null) {
+                ForecastBuckets.Group group = projection.buckets.group(event.getBefore().getDepartment(),
+                        event.getBefore().getClassName());
+                projector.project(event.getBefore(), projection.buckets.getFirstPeriod(),
+                        projection.buckets.getMonths(), projection.averageUnits, group::remove);
+                projection.assetCount--;
+            }
+            if (event.getAfter() != null) {
+                ForecastBuckets.Group group = projection.buckets.group(event.getAfter().getDepartment(),
+                        event.getAfter().getClassName());
+                projector.project(event.getAfter(), projection.buckets.getFirstPeriod(),
+                        projection.buckets.getMonths(), projection.averageUnits, group::add);
+                projection.assetCount++;
+            }
+        }
+
+        AssetDepreciationSnapshot asset = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        log.debug("Re-projected depreciation of asset {}", asset != null ? asset.getFixedAssetId() : null);
+    }
+
+    /**
+     * Drop the projection after a committed change it cannot apply incrementally
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAssetsChanged(AssetsChangedEvent event) {
+        if (event instanceof AssetScheduleChangedEvent) {
+            return;
+        }
+        long receivedAt = System.nanoTime();
+
+        synchronized (this) {
+            // A projection built after the change was committed already contains it
+            if (projection != null && receivedAt >= projection.buildStartedAt) {
+                projection = null;
+                log.debug("Depreciation projection is stale after a change of assets {}",
+                        event.getAssetIds() != null ? event.getAssetIds() : "(all)");
+            }
+        }
+    }
+
+    private Projection build() {
+        long startTime = System.nanoTime();
+        LocalDate firstPeriod = currentPeriod();
+        int months = DepreciationForecastService.MAX_FORECAST_MONTHS;
+
+        List<AssetDepreciationSnapshot> assets = fixedAssetRepository.findActiveDepreciationSnapshots();
+        LongIntMap averageUnits = forecastService.loadAverageMonthlyUnits();
+
+        ForecastBuckets buckets = new ForecastBuckets(firstPeriod, months);
+        for (AssetDepreciationSnapshot asset : assets) {
+            ForecastBuckets.Group group = buckets.group(asset.getDepartment(), asset.getClassName());
+            projector.project(asset, firstPeriod, months, averageUnits, group::add);
+        }
+
+        log.info("Built depreciation projection of {} assets from {} in {} ms", assets.size(), firstPeriod,
+                (System.nanoTime() - startTime) / 1_000_000);
+
+        return new Projection(buckets, averageUnits, assets.size(), startTime);
+    }
+
+    private DepreciationForecastResponse toResponse(Projection projection, int months) {
+        DepreciationForecastResponse response = projection.buckets.toResponse(months);
+        response.setAssetCount(projection.assetCount);
+        response.setElapsedMillis(0L);
+        return response;
+    }
+
+    private LocalDate currentPeriod() {
+        return LocalDate.now().with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    /**
+     * Projected buckets with the average monthly usage they were projected with,
+     * so that an asset is taken out with exactly the amounts it was added with
+     */
+    private static class Projection {
+
+        private final ForecastBuckets buckets;
+        private final LongIntMap averageUnits;
+        private final long buildStartedAt;
+        private int assetCount;
+
+        Projection(ForecastBuckets buckets, LongIntMap averageUnits, int assetCount, long buildStartedAt) {
+            this.buckets = buckets;
+            this.averageUnits = averageUnits;
+            this.assetCount = assetCount;
+            this.buildStartedAt = buildStartedAt;
+        }
+    }
+}
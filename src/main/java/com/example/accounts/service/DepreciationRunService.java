@@ -0,0 +1,311 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.entity.FixedAssetDepreciationRun;
+import com.example.accounts.entity.FixedAssetDepreciationRunError;
+import com.example.accounts.entity.enums.DepreciationRunMode;
+import com.example.accounts.entity.enums.DepreciationRunStatus;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.repository.FixedAssetDepreciationRunErrorRepository;
+import com.example.accounts.repository.FixedAssetDepreciationRunRepository;
+import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.depreciation.DepreciationChunkResult;
+import com.example.accounts.service.depreciation.DepreciationRunListener;
+import com.example.accounts.service.depreciation.MonthlyUsageSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service for registered, checkpointed Depreciation Runs.
+ * A run commits its work in chunks; each chunk commits the depreciation records together with
+ * the run counters and the last processed asset id, so a run interrupted by a crash is resumed
+ * from the first unprocessed chunk instead of rescanning the portfolio.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepreciationRunService {
+
+    private final FixedAssetDepreciationRunRepository runRepository;
+    private final FixedAssetDepreciationRunErrorRepository runErrorRepository;
+    private final FixedAssetRepository fixedAssetRepository;
+    private final DepreciationService depreciationService;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Value("${fixed-assets.depreciation.run-stale-minutes:30}")
+    private long staleMinutes;
+
+    /**
+     * Start a new depreciation run for a period
+     */
+    public FixedAssetDepreciationRun startRun(LocalDate period, int chunkSize) {
+        FixedAssetDepreciationRun run = createRun(period, chunkSize);
+        return executeRun(run.getRunId(), DepreciationRunListener.NONE);
+    }
+
+    /**
+     * Register a new depreciation run for a period without processing it yet.
+     * A unique key on the period of unfinished runs rejects a concurrent second run for the period.
+     */
+    public FixedAssetDepreciationRun createRun(LocalDate period, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new BusinessException("Chunk size must be at least 1");
+        }
+
+        List<FixedAssetDepreciationRun> unfinishedRuns = runRepository.findByDepreciationPeriodAndStatusIn(period,
+                List.of(DepreciationRunStatus.RUNNING, DepreciationRunStatus.FAILED,
+                        DepreciationRunStatus.CANCELLED));
+        if (!unfinishedRuns.isEmpty()) {
+            throw new BusinessException("Depreciation run " + unfinishedRuns.get(0).getRunId() + " for period "
+                    + period + " is not finished. Resume it instead of starting a new run");
+        }
+
+        FixedAssetDepreciationRun run = new FixedAssetDepreciationRun();
+        run.setDepreciationPeriod(period);
+        run.setChunkSize(chunkSize);
+        run.setTotalAssets((int) fixedAssetRepository.countAssetsNeedingDepreciation(period));
+        run.setStartedAt(LocalDateTime.now());
+
+        FixedAssetDepreciationRun saved;
+        try {
+            saved = runRepository.save(run);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("A depreciation run for period " + period
+                    + " was started concurrently. Resume it instead of starting a new run");
+        }
+
+        log.info("Started depreciation run {} for period {}: {} assets in chunks of {}", saved.getRunId(), period,
+                saved.getTotalAssets(), chunkSize);
+
+        return saved;
+    }
+
+    /**
+     * Resume an unfinished depreciation run from the first unprocessed chunk
+     */
+    public FixedAssetDepreciationRun resumeRun(Long runId) {
+        reopenRun(runId);
+        return executeRun(runId, DepreciationRunListener.NONE);
+    }
+
+    /**
+     * Mark an unfinished depreciation run as running again, without processing it yet.
+     * Only a failed or cancelled run, or a running one that stopped checkpointing (its node died), is reopened;
+     * the status is switched with one conditional update, so of concurrent resumes on any nodes exactly one wins.
+     */
+    public FixedAssetDepreciationRun reopenRun(Long runId) {
+        FixedAssetDepreciationRun run = findRunById(runId);
+
+        if (run.getStatus() == DepreciationRunStatus.COMPLETED) {
+            throw new BusinessException("Depreciation run " + runId + " is already completed");
+        }
+
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleMinutes);
+        Integer reopened = newTransaction().execute(status -> runRepository.reopen(runId, staleBefore));
+        if (reopened == null || reopened == 0) {
+            throw new BusinessException("Depreciation run " + runId + " is already running");
+        }
+        FixedAssetDepreciationRun saved = findRunById(runId);
+
+        log.info("Resuming depreciation run {} for period {} after asset {}", runId, run.getDepreciationPeriod(),
+                run.getLastProcessedAssetId());
+
+        return saved;
+    }
+
+    /**
+     * Get depreciation run by ID
+     */
+    @Transactional(readOnly = true)
+    public FixedAssetDepreciationRun getRunById(Long runId) {
+        return findRunById(runId);
+    }
+
+    /**
+     * Get depreciation runs for a period
+     */
+    @Transactional(readOnly = true)
+    public List<FixedAssetDepreciationRun> getRunsByPeriod(LocalDate period) {
+        return runRepository.findByDepreciationPeriodOrderByStartedAtDesc(period);
+    }
+
+    /**
+     * Get assets that failed in a depreciation run
+     */
+    @Transactional(readOnly = true)
+    public List<FixedAssetDepreciationRunError> getRunErrors(Long runId) {
+        findRunById(runId);
+        return runErrorRepository.findByRunId(runId);
+    }
+
+    /**
+     * Get the compact summary of a depreciation run with its first errors
+     */
+    @Transactional(readOnly = true)
+    public DepreciationRunResponse getRunSummary(Long runId) {
+        FixedAssetDepreciationRun run = findRunById(runId);
+
+        DepreciationRunResponse response = new DepreciationRunResponse();
+        response.setPeriod(run.getDepreciationPeriod());
+        response.setMode(DepreciationRunMode.CHECKPOINTED);
+        response.setTotalAssets(run.getTotalAssets());
+        response.setSuccessCount(run.getSuccessCount());
+        response.setErrorCount(run.getErrorCount());
+        response.setTotalDepreciationAmount(run.getTotalDepreciationAmount());
+        response.setErrors(runErrorRepository.findByRunId(runId, PageRequest.of(0, MAX_REPORTED_ERRORS)).stream()
+                .map(error -> "Asset " + error.getFixedAssetId() + ": " + error.getErrorMessage())
+                .toList());
+
+        LocalDateTime endedAt = run.getCompletedAt() != null ? run.getCompletedAt() : run.getLastCheckpointAt();
+        if (run.getStartedAt() != null && endedAt != null) {
+            long elapsedMillis = Duration.between(run.getStartedAt(), endedAt).toMillis();
+            response.setElapsedMillis(elapsedMillis);
+            response.setAssetsPerSecond(elapsedMillis > 0
+                    ? run.getProcessedCount() * 1000.0 / elapsedMillis
+                    : run.getProcessedCount());
+        }
+
+        return response;
+    }
+
+    /**
+     * Process chunks after the run checkpoint until no asset needing depreciation is left.
+     * The listener sees the run after every committed chunk and can stop it between chunks.
+     */
+    public FixedAssetDepreciationRun executeRun(Long runId, DepreciationRunListener listener) {
+        FixedAssetDepreciationRun run = findRunById(runId);
+        LocalDate period = run.getDepreciationPeriod();
+        PageRequest chunk = PageRequest.of(0, run.getChunkSize());
+        TransactionTemplate chunkTransaction = newTransaction();
+        MonthlyUsageSnapshot usage = depreciationService.loadMonthlyUsage(period);
+
+        long lastAssetId = run.getLastProcessedAssetId() != null ? run.getLastProcessedAssetId() : 0L;
+
+        while (true) {
+            if (listener.isCancelled()) {
+                return cancelRun(runId);
+            }
+
+            List<Long> assetIds = fixedAssetRepository.findAssetIdsNeedingDepreciationAfter(period, lastAssetId,
+                    chunk);
+            if (assetIds.isEmpty()) {
+                break;
+            }
+
+            try {
+                FixedAssetDepreciationRun checkpoint = chunkTransaction.execute(
+                        status -> processChunk(runId, period, usage, assetIds));
+                listener.onChunkCompleted(checkpoint);
+            } catch (Exception e) {
+                log.error("Depreciation run {} failed on chunk after asset {}: {}", runId, lastAssetId,
+                        e.getMessage());
+                failRun(runId, "Chunk after asset " + lastAssetId + " failed: " + e.getMessage());
+                throw new BusinessException("Depreciation run " + runId + " failed after asset " + lastAssetId
+                        + ". Resume the run to continue: " + e.getMessage());
+            }
+
+            lastAssetId = assetIds.get(assetIds.size() - 1);
+        }
+
+        usage.summarizeUnavailableUsage().forEach(log::warn);
+
+        FixedAssetDepreciationRun completed = findRunById(runId);
+        completed.setStatus(DepreciationRunStatus.COMPLETED);
+        completed.setCompletedAt(LocalDateTime.now());
+
+        FixedAssetDepreciationRun saved = runRepository.save(completed);
+
+        log.info("Completed depreciation run {} for period {}. Success: {}, Errors: {}", runId, period,
+                saved.getSuccessCount(), saved.getErrorCount());
+
+        return saved;
+    }
+
+    /**
+     * Depreciate one chunk and advance the run checkpoint in the same transaction
+     */
+    private FixedAssetDepreciationRun processChunk(Long runId, LocalDate period, MonthlyUsageSnapshot usage,
+            List<Long> assetIds) {
+        FixedAssetDepreciationRun run = findRunById(runId);
+
+        DepreciationChunkResult chunk = depreciationService.calculateDepreciationChunkInBatch(assetIds, period,
+                usage);
+
+        chunk.getFailures().forEach((assetId, reason) -> {
+            log.error("Error calculating depreciation for asset {}: {}", assetId, reason);
+            recordError(run, assetId, reason);
+        });
+        // Kept per asset so the error list survives a resume of the run
+        chunk.getUnavailableUsageAssetIds()
+                .forEach(assetId -> recordError(run, assetId, usage.describeUnavailableUsage(assetId)));
+
+        run.setTotalDepreciationAmount(run.getTotalDepreciationAmount().add(chunk.getTotalAmount()));
+        run.setSuccessCount(run.getSuccessCount() + chunk.getSuccessCount());
+
+        run.setProcessedCount(run.getProcessedCount() + assetIds.size());
+        run.setLastProcessedAssetId(assetIds.get(assetIds.size() - 1));
+        run.setLastCheckpointAt(LocalDateTime.now());
+
+        return runRepository.save(run);
+    }
+
+    private void recordError(FixedAssetDepreciationRun run, Long assetId, String message) {
+        FixedAssetDepreciationRunError error = new FixedAssetDepreciationRunError();
+        error.setRun(run);
+        error.setFixedAssetId(assetId);
+        error.setErrorMessage(message);
+        runErrorRepository.save(error);
+
+        run.setErrorCount(run.getErrorCount() + 1);
+    }
+
+    private FixedAssetDepreciationRun cancelRun(Long runId) {
+        FixedAssetDepreciationRun run = findRunById(runId);
+        run.setStatus(DepreciationRunStatus.CANCELLED);
+        run.setFailureReason("Cancelled after asset " + run.getLastProcessedAssetId());
+
+        FixedAssetDepreciationRun saved = runRepository.save(run);
+
+        log.info("Cancelled depreciation run {} for period {} after {} assets", runId, run.getDepreciationPeriod(),
+                run.getProcessedCount());
+
+        return saved;
+    }
+
+    private void failRun(Long runId, String reason) {
+        FixedAssetDepreciationRun run = findRunById(runId);
+        run.setStatus(DepreciationRunStatus.FAILED);
+        run.setFailureReason(reason);
+        runRepository.save(run);
+    }
+
+    private FixedAssetDepreciationRun findRunById(Long runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Depreciation run not found with id: " + runId));
+    }
+
+    /**
+     * Transaction template for chunks that must commit independently of each other
+     */
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.DepreciationBacklogResponse;
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.repository.SchedulerLockRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service for due-date driven depreciation.
+ * Runs daily and catches up every asset whose next depreciation date is due by the most recently closed
+ * period, so the month-end run happens on the first run after the period closes and any periods missed
+ * during downtime are caught up by the next run. When nothing is due a run costs a single index probe.
+ * Every node may run the scheduler: a run takes a database lock first, so only one node catches up at a time
+ * and the others skip. The lock expires after the configured time if its node dies mid-run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepreciationSchedulerService {
+
+    /**
+     * Database lock shared by the nodes running due depreciation
+     */
+    private static final String LOCK_NAME = "due-depreciation";
+
+    private final DepreciationService depreciationService;
+    private final FixedAssetRepository fixedAssetRepository;
+    private final SchedulerLockRepository schedulerLockRepository;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile LocalDateTime lastRunAt;
+    private volatile DepreciationRunResponse lastRun;
+
+    @Value("${fixed-assets.depreciation.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${fixed-assets.depreciation.scheduler.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${fixed-assets.depreciation.scheduler.lock-minutes:360}")
+    private long lockMinutes;
+
+    @Value("${fixed-assets.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+
+    @PostConstruct
+    void initNodeId() {
+        // Defaults to pid@host, unique per JVM
+        nodeId = configuredNodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : configuredNodeId;
+    }
+
+    /**
+     * Scheduled entry point; catches up to the most recently closed period
+     */
+    @Scheduled(cron = "${fixed-assets.depreciation.scheduler.cron:0 15 0 * * *}")
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate period = lastClosedPeriod();
+        if (fixedAssetRepository.findDueAssetIdsAfter(period, 0L, PageRequest.of(0, 1)).isEmpty()) {
+            log.debug("No depreciation due by period {}", period);
+            return;
+        }
+
+        try {
+            runDue(period);
+        } catch (BusinessException e) {
+            log.info("Skipped scheduled depreciation up to period {}: {}", period, e.getMessage());
+        } catch (Exception e) {
+            log.error("Scheduled depreciation up to period {} failed: {}", period, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Catch up depreciation for the assets due by a period (the most recently closed period when null),
+     * unless a due run is already in progress on this or another node
+     */
+    public DepreciationRunResponse runDue(LocalDate period) {
+        LocalDate targetPeriod = period != null ? period : lastClosedPeriod();
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("A due depreciation run is already in progress");
+        }
+
+        String owner = nodeId + "/" + UUID.randomUUID().toString().substring(0, 8);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            if (!schedulerLockRepository.tryLock(LOCK_NAME, owner, now, now.plusMinutes(lockMinutes))) {
+                throw new BusinessException("A due depreciation run is already in progress on another node");
+            }
+
+            try {
+                log.info("Running due depreciation up to period {} as {}", targetPeriod, owner);
+                DepreciationRunResponse response = depreciationService.catchUpDueDepreciation(targetPeriod,
+                        chunkSize);
+                lastRunAt = LocalDateTime.now();
+                lastRun = response;
+                return response;
+            } finally {
+                schedulerLockRepository.unlock(LOCK_NAME, owner, LocalDateTime.now());
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Get the due depreciation backlog: assets due by the most recently closed period, counted on the
+     * due-date index rather than over the whole asset table
+     */
+    public DepreciationBacklogResponse getBacklog() {
+        LocalDate period = lastClosedPeriod();
+
+        DepreciationBacklogResponse response = new DepreciationBacklogResponse();
+        response.setTargetPeriod(period);
+        response.setDueAssetCount(fixedAssetRepository.countDueAssets(period));
+        response.setEarliestDueDate(fixedAssetRepository.findEarliestNextDepreciationDate());
+        response.setRunning(running.get());
+        response.setLastRunAt(lastRunAt);
+        response.setLastRun(lastRun);
+        return response;
+    }
+
+    /**
+     * Last day of the previous month
+     */
+    private LocalDate lastClosedPeriod() {
+        return LocalDate.now().minusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+    }
+}
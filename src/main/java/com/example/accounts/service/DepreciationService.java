@@ -1,23 +1,62 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.dto.BatchDepreciationRequest;
+import com.example.accounts.dto.BatchDepreciationResponse;
+import com.example.accounts.dto.DepreciationItemResponse;
+import com.example.accounts.dto.DepreciationPartitionResponse;
+import com.example.accounts.dto.DepreciationPostingResponse;
+import com.example.accounts.dto.DepreciationRunResponse;
+import com.example.accounts.dto.DepreciationSliceAsset;
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.*;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.entity.enums.DepreciationMethod;
+import com.example.accounts.entity.enums.DepreciationRunMode;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.*;
+import com.example.accounts.service.depreciation.DepreciationBatch;
+import com.example.accounts.service.depreciation.DepreciationChunkResult;
+import com.example.accounts.service.depreciation.DepreciationPreviewListener;
+import com.example.accounts.service.depreciation.DepreciationStrategies;
+import com.example.accounts.service.depreciation.MonthlyUsageSnapshot;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import com.example.accounts.util.ScaledMoney;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
 
 /**
  * Service for Fixed Asset Depreciation calculations and processing
@@ -32,14 +71,52 @@ public class DepreciationService {
     private final FixedAssetDepreciationRepository depreciationRepository;
     private final FixedAssetMonthlyUsageRepository monthlyUsageRepository;
     private final JournalEntryService journalEntryService;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final SequenceBlockAllocator sequenceBlockAllocator;
+    private final JournalWriter journalWriter;
+    private final AssetCommandExecutor assetCommandExecutor;
+    private final DepreciationStrategies depreciationStrategies;
+    private final DepreciationSliceRepository depreciationSliceRepository;
+    private final FixedAssetTotalsRepository totalsRepository;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DepreciationPreviewService previewService;
+
+    @Value("${fixed-assets.depreciation.max-workers:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int maxWorkers;
+
+    /**
+     * Maximum number of error messages returned in a run summary
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Number of assets calculated together by one strategy call in runs that hold all assets in one transaction
+     */
+    private static final int STRATEGY_BATCH_SIZE = 500;
+
+    /**
+     * Journal document type of depreciation postings
+     */
+    private static final String DEPRECIATION_DOCUMENT_TYPE = "DEPRECIATION";
 
     /**
-     * Calculate and create depreciation for a specific asset and period
+     * Calculate and create depreciation for a specific asset and period.
+     * Runs as a command on the asset: serialized with other commands on it and retried on concurrent changes.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public FixedAssetDepreciation calculateDepreciation(Long assetId, LocalDate period) {
         log.info("Calculating depreciation for asset {} for period {}", assetId, period);
 
-        FixedAsset asset = findAssetById(assetId);
+        return assetCommandExecutor.execute(assetId, () -> depreciateAsset(findAssetById(assetId), period));
+    }
+
+    /**
+     * Create depreciation for an already loaded asset and period, and roll the asset forward
+     */
+    private FixedAssetDepreciation depreciateAsset(FixedAsset asset, LocalDate period) {
+        Long assetId = asset.getFixedAssetId();
 
         // Validate asset can be depreciated
         validateAssetForDepreciation(asset, period);
@@ -49,10 +126,32 @@ public class DepreciationService {
             throw new BusinessException("Depreciation already exists for asset " + assetId + " for period " + period);
         }
 
-        // Calculate depreciation amount based on method
-        BigDecimal depreciationAmount = calculateDepreciationAmount(asset, period);
+        // Calculate depreciation amount with the method's strategy
+        int unitsUsed = 0;
+        if (depreciationStrategies.get(asset.getDepreciationMethod()).usesUnits()) {
+            unitsUsed = findProcessedUnitsUsed(asset, period);
+        }
+        BigDecimal depreciationAmount = calculateDepreciationAmount(asset, period, unitsUsed);
+
+        // Save depreciation
+        FixedAssetDepreciation saved = depreciationRepository.save(newDepreciation(asset, period, depreciationAmount));
+
+        // Update asset
+        applyDepreciation(asset, saved);
+
+        fixedAssetRepository.save(asset);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(assetId));
+
+        log.info("Created depreciation {} for asset {} with amount {}", saved.getDepreciationId(), assetId,
+                depreciationAmount);
+
+        return saved;
+    }
 
-        // Create depreciation record
+    /**
+     * Build an unsaved depreciation record for an asset and period from the asset's current balances
+     */
+    private FixedAssetDepreciation newDepreciation(FixedAsset asset, LocalDate period, BigDecimal depreciationAmount) {
         FixedAssetDepreciation depreciation = new FixedAssetDepreciation();
         depreciation.setFixedAsset(asset);
         depreciation.setDepreciationPeriod(period);
@@ -68,81 +167,158 @@ public class DepreciationService {
 
         // Calculate closing balances
         BigDecimal closingAccumulatedDepreciation = asset.getAccumulatedDepreciation().add(depreciationAmount);
-        BigDecimal closingNetBookValue = asset.getGrossCost().subtract(closingAccumulatedDepreciation);
-
         depreciation.setClosingAccumulatedDepreciation(closingAccumulatedDepreciation);
-        depreciation.setClosingNetBookValue(closingNetBookValue);
+        depreciation.setClosingNetBookValue(asset.getGrossCost().subtract(closingAccumulatedDepreciation));
 
         // Set description
-        depreciation.setDescription("Depreciation for " + period.getMonth() + " " + period.getYear());
+        depreciation.setDescription(describePeriod(period));
 
-        // Save depreciation
-        FixedAssetDepreciation saved = depreciationRepository.save(depreciation);
+        return depreciation;
+    }
 
-        // Update asset
-        asset.setAccumulatedDepreciation(closingAccumulatedDepreciation);
+    /**
+     * Roll an asset forward to the closing balance and period of a depreciation record.
+     * Callers report the changed assets once per transaction, not per record.
+     */
+    private void applyDepreciation(FixedAsset asset, FixedAssetDepreciation depreciation) {
+        LocalDate period = depreciation.getDepreciationPeriod();
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
+
+        asset.setAccumulatedDepreciation(depreciation.getClosingAccumulatedDepreciation());
         asset.setLastDepreciationDate(period);
         asset.setLastDepreciationCalculationDate(LocalDateTime.now());
         asset.setNextDepreciationDate(period.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth()));
 
         // Check if fully depreciated
-        if (closingNetBookValue.compareTo(asset.getSalvageValue()) <= 0) {
+        if (depreciation.getClosingNetBookValue().compareTo(asset.getSalvageValue()) <= 0) {
             asset.setStatus(AssetStatus.FULLY_DEPRECIATED);
-            log.info("Asset {} is now fully depreciated", assetId);
+            log.info("Asset {} is now fully depreciated", asset.getFixedAssetId());
         }
 
-        fixedAssetRepository.save(asset);
-
-        log.info("Created depreciation {} for asset {} with amount {}", saved.getDepreciationId(), assetId,
-                depreciationAmount);
-
-        return saved;
+        totalsService.changed(totalsBefore, asset);
     }
 
     /**
-     * Calculate depreciation amount based on method
+     * Depreciate a chunk of loaded assets for a period. Assets are validated one by one, then grouped by
+     * depreciation method so that each method's strategy calculates its whole group in one call;
+     * the records are saved together. Failing assets are reported in the result and left unchanged.
      */
-    private BigDecimal calculateDepreciationAmount(FixedAsset asset, LocalDate period) {
-        return switch (asset.getDepreciationMethod()) {
-            case STRAIGHT_LINE -> calculateStraightLineDepreciation(asset);
-            case UNITS_OF_PRODUCTION -> calculateUnitsOfProductionDepreciation(asset, period);
-        };
+    private DepreciationChunkResult depreciateChunk(List<FixedAsset> assets, LocalDate period,
+            MonthlyUsageSnapshot usage) {
+        DepreciationChunkResult result = new DepreciationChunkResult();
+        if (assets.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> alreadyDepreciated = new HashSet<>(depreciationRepository.findFixedAssetIdsDepreciatedInPeriod(
+                period, assets.stream().map(FixedAsset::getFixedAssetId).toList()));
+
+        Map<DepreciationMethod, List<FixedAsset>> assetsByMethod = new EnumMap<>(DepreciationMethod.class);
+        Map<DepreciationMethod, DepreciationBatch> batches = new EnumMap<>(DepreciationMethod.class);
+
+        for (FixedAsset asset : assets) {
+            Long assetId = asset.getFixedAssetId();
+            try {
+                validateAssetForDepreciation(asset, period);
+                if (alreadyDepreciated.contains(assetId)) {
+                    throw new BusinessException(
+                            "Depreciation already exists for asset " + assetId + " for period " + period);
+                }
+
+                DepreciationMethod method = asset.getDepreciationMethod();
+                int unitsUsed = 0;
+                if (depreciationStrategies.get(method).usesUnits()) {
+                    unitsUsed = usage.unitsUsed(assetId);
+                    if (unitsUsed < 0) {
+                        result.getUnavailableUsageAssetIds().add(assetId);
+                        continue;
+                    }
+                }
+
+                addToBatch(batches.computeIfAbsent(method, m -> new DepreciationBatch(assets.size())), asset, period,
+                        unitsUsed);
+                assetsByMethod.computeIfAbsent(method, m -> new ArrayList<>()).add(asset);
+            } catch (BusinessException | ArithmeticException e) {
+                result.getFailures().put(assetId, e.getMessage());
+            }
+        }
+
+        assetsByMethod.forEach((method, group) -> depreciateGroup(method, group, batches.get(method), period, result));
+
+        depreciationRepository.saveAll(result.getDepreciations());
+
+        return result;
     }
 
     /**
-     * Calculate straight line depreciation
-     * Formula: (Gross Cost - Salvage Value) / Useful Life in Months
+     * Calculate one method's group of a chunk with a single strategy call and roll its assets forward.
+     * An amount overflowing for one asset fails the whole call; the group is then calculated one asset
+     * at a time so that only that asset fails.
      */
-    private BigDecimal calculateStraightLineDepreciation(FixedAsset asset) {
-        if (asset.getUsefulLifeMonths() == null || asset.getUsefulLifeMonths() == 0) {
-            throw new BusinessException("Useful life in months is required for straight line depreciation");
+    private void depreciateGroup(DepreciationMethod method, List<FixedAsset> group, DepreciationBatch batch,
+            LocalDate period, DepreciationChunkResult result) {
+        long[] amounts;
+        try {
+            amounts = depreciationStrategies.calculate(method, batch);
+        } catch (ArithmeticException e) {
+            log.warn("Batch calculation of {} {} assets failed, calculating one by one: {}", group.size(), method,
+                    e.getMessage());
+            amounts = null;
         }
 
-        BigDecimal depreciableAmount = asset.getGrossCost().subtract(asset.getSalvageValue());
-        BigDecimal monthlyDepreciation = depreciableAmount.divide(
-                BigDecimal.valueOf(asset.getUsefulLifeMonths()),
-                4,
-                RoundingMode.HALF_UP);
+        for (int i = 0; i < group.size(); i++) {
+            FixedAsset asset = group.get(i);
+            try {
+                BigDecimal depreciationAmount;
+                if (amounts == null) {
+                    depreciationAmount = calculateDepreciationAmount(asset, period, batch.unitsUsed()[i]);
+                } else if (batch.isRejected(i)) {
+                    throw new BusinessException(batch.getRejection(i));
+                } else {
+                    depreciationAmount = ScaledMoney.toBigDecimal(amounts[i]);
+                }
 
-        // Ensure depreciation doesn't bring NBV below salvage value
-        BigDecimal maxDepreciation = asset.getNetBookValue().subtract(asset.getSalvageValue());
-        if (monthlyDepreciation.compareTo(maxDepreciation) > 0) {
-            monthlyDepreciation = maxDepreciation;
+                FixedAssetDepreciation depreciation = newDepreciation(asset, period, depreciationAmount);
+                applyDepreciation(asset, depreciation);
+                result.getDepreciations().add(depreciation);
+            } catch (BusinessException | ArithmeticException e) {
+                result.getFailures().put(asset.getFixedAssetId(), e.getMessage());
+            }
         }
-
-        return monthlyDepreciation;
     }
 
     /**
-     * Calculate units of production depreciation
-     * Formula: (Gross Cost - Salvage Value) / Total Units × Units Used
+     * Calculate the depreciation amount of one asset for a period with its method's strategy.
+     * Units used are read only by methods that use units.
      */
-    private BigDecimal calculateUnitsOfProductionDepreciation(FixedAsset asset, LocalDate period) {
-        if (asset.getTotalUnits() == null || asset.getTotalUnits() == 0) {
-            throw new BusinessException("Total units is required for units of production depreciation");
+    private BigDecimal calculateDepreciationAmount(FixedAsset asset, LocalDate period, int unitsUsed) {
+        DepreciationBatch batch = new DepreciationBatch(1);
+        addToBatch(batch, asset, period, unitsUsed);
+
+        long amount = depreciationStrategies.calculate(asset.getDepreciationMethod(), batch)[0];
+        if (batch.isRejected(0)) {
+            throw new BusinessException(batch.getRejection(0));
         }
+        return ScaledMoney.toBigDecimal(amount);
+    }
 
-        // Get monthly usage for this period
+    /**
+     * Add a validated asset to a strategy batch for a period
+     */
+    private void addToBatch(DepreciationBatch batch, FixedAsset asset, LocalDate period, int unitsUsed) {
+        batch.add(ScaledMoney.of(asset.getGrossCost()),
+                ScaledMoney.of(asset.getSalvageValue()),
+                ScaledMoney.of(asset.getNetBookValue()),
+                asset.getUsefulLifeMonths(),
+                asset.getTotalUnits(),
+                unitsUsed,
+                DepreciationBatch.elapsedMonths(asset.getDepreciationStartDate(), period));
+    }
+
+    /**
+     * Processed units used by an asset in a period, from its monthly usage record
+     */
+    private int findProcessedUnitsUsed(FixedAsset asset, LocalDate period) {
         FixedAssetMonthlyUsage usage = monthlyUsageRepository
                 .findByFixedAssetIdAndPeriod(asset.getFixedAssetId(), period)
                 .orElseThrow(() -> new BusinessException(
@@ -152,21 +328,27 @@ public class DepreciationService {
             throw new BusinessException("Monthly usage for period " + period + " has not been processed yet");
         }
 
-        BigDecimal depreciableAmount = asset.getGrossCost().subtract(asset.getSalvageValue());
-        BigDecimal depreciationPerUnit = depreciableAmount.divide(
-                BigDecimal.valueOf(asset.getTotalUnits()),
-                4,
-                RoundingMode.HALF_UP);
-
-        BigDecimal depreciation = depreciationPerUnit.multiply(BigDecimal.valueOf(usage.getUnitsUsed()));
+        return usage.getUnitsUsed();
+    }
 
-        // Ensure depreciation doesn't bring NBV below salvage value
-        BigDecimal maxDepreciation = asset.getNetBookValue().subtract(asset.getSalvageValue());
-        if (depreciation.compareTo(maxDepreciation) > 0) {
-            depreciation = maxDepreciation;
-        }
+    /**
+     * Calculate depreciation for a chunk of assets as one step of a batch run, one strategy call per method.
+     * Must be called inside the batch transaction; failing assets are reported in the result
+     * without marking the whole batch transaction rollback-only.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = Exception.class)
+    public DepreciationChunkResult calculateDepreciationChunkInBatch(List<Long> assetIds, LocalDate period,
+            MonthlyUsageSnapshot usage) {
+        DepreciationChunkResult chunk = depreciateChunk(fixedAssetRepository.findAllById(assetIds), period, usage);
+        publishChanged(chunk);
+        return chunk;
+    }
 
-        return depreciation;
+    /**
+     * Load the monthly usage of all assets for a period in one query, for use by a batch run
+     */
+    public MonthlyUsageSnapshot loadMonthlyUsage(LocalDate period) {
+        return MonthlyUsageSnapshot.of(period, monthlyUsageRepository.findUnitsByPeriod(period));
     }
 
     /**
@@ -176,26 +358,858 @@ public class DepreciationService {
         log.info("Calculating depreciation for all assets for period {}", period);
 
         List<FixedAsset> assets = fixedAssetRepository.findAssetsNeedingDepreciation(period);
+        MonthlyUsageSnapshot usage = loadMonthlyUsage(period);
         List<FixedAssetDepreciation> depreciations = new ArrayList<>();
 
+        int errorCount = 0;
+
+        for (int from = 0; from < assets.size(); from += STRATEGY_BATCH_SIZE) {
+            DepreciationChunkResult chunk = depreciateChunk(
+                    assets.subList(from, Math.min(from + STRATEGY_BATCH_SIZE, assets.size())), period, usage);
+            depreciations.addAll(chunk.getDepreciations());
+            errorCount += chunk.getErrorCount();
+            chunk.getFailures().forEach((assetId, reason) ->
+                    log.error("Error calculating depreciation for asset {}: {}", assetId, reason));
+        }
+        int successCount = depreciations.size();
+        if (successCount > 0) {
+            eventPublisher.publishEvent(AssetsChangedEvent.all());
+        }
+
+        usage.summarizeUnavailableUsage().forEach(log::error);
+
+        log.info("Completed depreciation calculation for period {}. Success: {}, Errors: {}", period, successCount,
+                errorCount);
+
+        return depreciations;
+    }
+
+    /**
+     * Calculate depreciation for all active assets for a given period using parallel workers.
+     * Assets are split into contiguous id-range partitions; each partition runs on its own
+     * worker thread in its own transaction, so a failed partition does not roll back the others.
+     * Produces the same depreciation records as {@link #calculateMonthlyDepreciation(LocalDate)}.
+     * Uses at most the configured maximum of workers, each holding a connection while its partition runs.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DepreciationRunResponse calculateMonthlyDepreciationParallel(LocalDate period, int requestedWorkers,
+            int partitions) {
+        if (requestedWorkers < 1) {
+            throw new BusinessException("Number of workers must be at least 1");
+        }
+        int workers = Math.min(requestedWorkers, Math.max(maxWorkers, 1));
+
+        log.info("Calculating depreciation for all assets for period {} with {} workers", period, workers);
+
+        long startTime = System.nanoTime();
+
+        List<Long> assetIds = fixedAssetRepository.findAssetIdsNeedingDepreciation(period);
+        List<List<Long>> idRanges = splitIntoRanges(assetIds, Math.max(partitions, workers));
+        MonthlyUsageSnapshot usage = loadMonthlyUsage(period);
+
+        TransactionTemplate partitionTransaction = new TransactionTemplate(transactionManager);
+        partitionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<DepreciationPartitionResponse> partitionResults = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<DepreciationPartitionResponse>> futures = new ArrayList<>();
+            List<List<String>> partitionErrors = new ArrayList<>();
+
+            for (int i = 0; i < idRanges.size(); i++) {
+                int partitionNumber = i + 1;
+                List<Long> range = idRanges.get(i);
+                List<String> rangeErrors = new ArrayList<>();
+                partitionErrors.add(rangeErrors);
+                futures.add(executor.submit(
+                        () -> runPartition(partitionNumber, range, period, usage, partitionTransaction,
+                                rangeErrors)));
+            }
+
+            for (Future<DepreciationPartitionResponse> future : futures) {
+                partitionResults.add(future.get());
+            }
+
+            errors.addAll(usage.summarizeUnavailableUsage());
+            for (List<String> rangeErrors : partitionErrors) {
+                addErrors(errors, rangeErrors);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Depreciation run for period " + period + " was interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException(
+                    "Depreciation run for period " + period + " failed: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        DepreciationRunResponse response = new DepreciationRunResponse();
+        response.setPeriod(period);
+        response.setMode(DepreciationRunMode.PARALLEL);
+        response.setWorkers(workers);
+        response.setTotalAssets(assetIds.size());
+        response.setSuccessCount(partitionResults.stream()
+                .mapToInt(DepreciationPartitionResponse::getSuccessCount)
+                .sum());
+        response.setErrorCount(partitionResults.stream()
+                .mapToInt(DepreciationPartitionResponse::getErrorCount)
+                .sum());
+        response.setTotalDepreciationAmount(partitionResults.stream()
+                .map(DepreciationPartitionResponse::getDepreciationAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        response.setPartitions(partitionResults);
+        response.setErrors(errors);
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setAssetsPerSecond(throughput(assetIds.size(), elapsedMillis));
+
+        log.info("Completed parallel depreciation calculation for period {}. Success: {}, Errors: {}, {} assets/s",
+                period, response.getSuccessCount(), response.getErrorCount(), response.getAssetsPerSecond());
+
+        return response;
+    }
+
+    /**
+     * Calculate depreciation for all active assets for a given period using the bulk engine.
+     * All eligible straight-line assets are depreciated with a few set-based statements;
+     * units of production assets and anything the statements skip go through the per-asset path.
+     */
+    public DepreciationRunResponse calculateMonthlyDepreciationBulk(LocalDate period) {
+        log.info("Calculating bulk depreciation for all assets for period {}", period);
+
+        long startTime = System.nanoTime();
+        LocalDateTime calculatedAt = LocalDateTime.now();
+        LocalDate nextDepreciationDate = period.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+
+        // Set-based straight-line depreciation
+        BigDecimal amountBefore = depreciationRepository.sumDepreciationAmountByPeriod(period);
+
+        int inserted = 0;
+        int candidates = depreciationRepository.countStraightLineDepreciationCandidates(period);
+        if (candidates > 0) {
+            // Ids come from the same sequence Hibernate uses; assets beyond the reserved block use the per-asset path
+            long firstId = sequenceBlockAllocator.reserve("fixed_asset_depreciation_seq",
+                    FixedAssetDepreciation.ID_ALLOCATION_SIZE, candidates);
+            inserted = depreciationRepository.insertStraightLineDepreciation(
+                    period, LocalDate.now(), describePeriod(period), calculatedAt, firstId, candidates);
+        }
+        // Portfolio totals follow the set-based updates through the same predicates, right before each of them
+        totalsRepository.applyStraightLineDepreciationDeltas(period, calculatedAt);
+        int updated = fixedAssetRepository.applyStraightLineDepreciation(period, nextDepreciationDate, calculatedAt);
+        totalsRepository.moveStraightLineFullyDepreciated(period, calculatedAt);
+        int fullyDepreciated = fixedAssetRepository.markStraightLineFullyDepreciated(period, calculatedAt);
+        // Also covers the assets of the per-asset path below, in the same transaction
+        eventPublisher.publishEvent(AssetsChangedEvent.all());
+
+        if (updated != inserted) {
+            log.warn("Bulk depreciation for period {} inserted {} rows but updated {} assets", period, inserted,
+                    updated);
+        }
+
+        BigDecimal totalAmount = depreciationRepository.sumDepreciationAmountByPeriod(period).subtract(amountBefore);
+
+        log.info("Bulk straight-line depreciation for period {}: {} assets, {} now fully depreciated", period,
+                inserted, fullyDepreciated);
+
+        // Per-asset path for everything the set-based statements did not cover
+        List<FixedAsset> remainingAssets = fixedAssetRepository.findAssetsNeedingDepreciation(period);
+        MonthlyUsageSnapshot usage = loadMonthlyUsage(period);
+        List<String> errors = new ArrayList<>();
+
+        int successCount = inserted;
+        int errorCount = 0;
+
+        for (int from = 0; from < remainingAssets.size(); from += STRATEGY_BATCH_SIZE) {
+            DepreciationChunkResult chunk = depreciateChunk(
+                    remainingAssets.subList(from, Math.min(from + STRATEGY_BATCH_SIZE, remainingAssets.size())),
+                    period, usage);
+            totalAmount = totalAmount.add(chunk.getTotalAmount());
+            successCount += chunk.getSuccessCount();
+            errorCount += chunk.getErrorCount();
+            addChunkErrors(errors, chunk);
+        }
+
+        DepreciationRunResponse response = new DepreciationRunResponse();
+        response.setPeriod(period);
+        response.setMode(DepreciationRunMode.BULK);
+        response.setTotalAssets(inserted + remainingAssets.size());
+        response.setSuccessCount(successCount);
+        response.setErrorCount(errorCount);
+        response.setTotalDepreciationAmount(totalAmount);
+        response.setErrors(withUsageSummary(usage, errors));
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setAssetsPerSecond(throughput(response.getTotalAssets(), elapsedMillis));
+
+        log.info("Completed bulk depreciation calculation for period {}. Success: {}, Errors: {}", period,
+                successCount, errorCount);
+
+        return response;
+    }
+
+    /**
+     * Calculate depreciation for all active assets for a given period with bounded memory.
+     * Assets are read page by page in id order; the persistence context is flushed and cleared
+     * after every page, and only a compact summary is returned instead of the created records.
+     */
+    public DepreciationRunResponse calculateMonthlyDepreciationStreaming(LocalDate period, int flushInterval) {
+        if (flushInterval < 1) {
+            throw new BusinessException("Flush interval must be at least 1");
+        }
+
+        log.info("Calculating streaming depreciation for all assets for period {}", period);
+
+        long startTime = System.nanoTime();
+        PageRequest page = PageRequest.of(0, flushInterval);
+        MonthlyUsageSnapshot usage = loadMonthlyUsage(period);
+        List<String> errors = new ArrayList<>();
+
+        int totalAssets = 0;
         int successCount = 0;
         int errorCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long lastAssetId = 0L;
+
+        while (true) {
+            List<FixedAsset> assets = fixedAssetRepository.findAssetsNeedingDepreciationAfter(period, lastAssetId,
+                    page);
+            if (assets.isEmpty()) {
+                break;
+            }
+
+            DepreciationChunkResult chunk = depreciateChunk(assets, period, usage);
+            totalAmount = totalAmount.add(chunk.getTotalAmount());
+            successCount += chunk.getSuccessCount();
+            errorCount += chunk.getErrorCount();
+            addChunkErrors(errors, chunk);
+
+            totalAssets += assets.size();
+            lastAssetId = assets.get(assets.size() - 1).getFixedAssetId();
+
+            // Write the page and drop it from the persistence context
+            entityManager.flush();
+            entityManager.clear();
+        }
+        if (successCount > 0) {
+            eventPublisher.publishEvent(AssetsChangedEvent.all());
+        }
+
+        DepreciationRunResponse response = new DepreciationRunResponse();
+        response.setPeriod(period);
+        response.setMode(DepreciationRunMode.STREAMING);
+        response.setTotalAssets(totalAssets);
+        response.setSuccessCount(successCount);
+        response.setErrorCount(errorCount);
+        response.setTotalDepreciationAmount(totalAmount);
+        response.setErrors(withUsageSummary(usage, errors));
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setAssetsPerSecond(throughput(totalAssets, elapsedMillis));
+
+        log.info("Completed streaming depreciation calculation for period {}. Success: {}, Errors: {}", period,
+                successCount, errorCount);
+
+        return response;
+    }
+
+    /**
+     * Calculate depreciation for a slice of the portfolio: the assets of a department, expense item and/or
+     * business activity that need depreciation for the period. The filters are applied in the SQL selecting
+     * the assets, which are then depreciated in chunks, each in its own transaction, so departments can close
+     * independently and in parallel. With manual processing the lines are previewed from read-only snapshots
+     * instead, with the run's validation and amounts, so they can be reviewed before the real run;
+     * nothing is written.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchDepreciationResponse calculateBatchDepreciation(BatchDepreciationRequest request, int chunkSize) {
+        if (request.getPeriod() == null) {
+            throw new BusinessException("Period is required");
+        }
+        if (chunkSize < 1) {
+            throw new BusinessException("Chunk size must be at least 1");
+        }
+
+        LocalDate period = request.getPeriod();
+        boolean manualProcessing = Boolean.TRUE.equals(request.getManualProcessing());
+        log.info("Calculating batch depreciation for period {} (department: {}, expense item: {}, " +
+                        "business activity: {}, manual processing: {})", period, request.getDepartment(),
+                request.getExpenseItem(), request.getBusinessActivity(), manualProcessing);
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        MonthlyUsageSnapshot usage = loadMonthlyUsage(period);
+
+        BatchDepreciationResponse response = new BatchDepreciationResponse();
+        response.setPeriod(period);
+        response.setTotalAssetsProcessed(0);
+        response.setSuccessCount(0);
+        response.setErrorCount(0);
+        response.setTotalDepreciationAmount(BigDecimal.ZERO);
+        response.setDepreciations(new ArrayList<>());
+        List<String> errors = new ArrayList<>();
+
+        long lastAssetId = 0L;
+        while (true) {
+            List<DepreciationSliceAsset> slice = depreciationSliceRepository.findNextChunk(request, lastAssetId,
+                    chunkSize);
+            if (slice.isEmpty()) {
+                break;
+            }
 
-        for (FixedAsset asset : assets) {
             try {
-                FixedAssetDepreciation depreciation = calculateDepreciation(asset.getFixedAssetId(), period);
-                depreciations.add(depreciation);
-                successCount++;
+                List<DepreciationItemResponse> items = manualProcessing
+                        ? previewBatchDepreciationChunk(slice, request, usage, errors)
+                        : chunkTransaction.execute(status -> batchDepreciationChunk(slice, request, usage, errors));
+                response.getDepreciations().addAll(items);
+                response.setSuccessCount(response.getSuccessCount() + items.size());
+                response.setErrorCount(response.getErrorCount() + slice.size() - items.size());
+                response.setTotalDepreciationAmount(items.stream()
+                        .map(DepreciationItemResponse::getDepreciationAmount)
+                        .reduce(response.getTotalDepreciationAmount(), BigDecimal::add));
             } catch (Exception e) {
-                log.error("Error calculating depreciation for asset {}: {}", asset.getFixedAssetId(), e.getMessage());
-                errorCount++;
+                log.error("Batch depreciation chunk of assets {}-{} rolled back: {}", slice.get(0).getFixedAssetId(),
+                        slice.get(slice.size() - 1).getFixedAssetId(), e.getMessage());
+                addError(errors, "Assets " + slice.get(0).getFixedAssetId() + "-"
+                        + slice.get(slice.size() - 1).getFixedAssetId() + " rolled back: " + e.getMessage());
+                response.setErrorCount(response.getErrorCount() + slice.size());
             }
+
+            response.setTotalAssetsProcessed(response.getTotalAssetsProcessed() + slice.size());
+            lastAssetId = slice.get(slice.size() - 1).getFixedAssetId();
         }
 
-        log.info("Completed depreciation calculation for period {}. Success: {}, Errors: {}", period, successCount,
-                errorCount);
+        response.setErrors(withUsageSummary(usage, errors));
 
-        return depreciations;
+        log.info("Completed batch depreciation for period {}. Success: {}, Errors: {}", period,
+                response.getSuccessCount(), response.getErrorCount());
+
+        return response;
+    }
+
+    /**
+     * Depreciate one chunk of a batch slice and describe the created records
+     */
+    private List<DepreciationItemResponse> batchDepreciationChunk(List<DepreciationSliceAsset> slice,
+            BatchDepreciationRequest request, MonthlyUsageSnapshot usage, List<String> errors) {
+        LocalDate period = request.getPeriod();
+        Map<Long, DepreciationSliceAsset> sliceById = new HashMap<>();
+        slice.forEach(asset -> sliceById.put(asset.getFixedAssetId(), asset));
+
+        DepreciationChunkResult chunk = depreciateChunk(fixedAssetRepository.findAllById(sliceById.keySet()),
+                period, usage);
+        addChunkErrors(errors, chunk);
+        publishChanged(chunk);
+
+        boolean hasComment = request.getComment() != null && !request.getComment().isBlank();
+
+        List<DepreciationItemResponse> items = new ArrayList<>();
+        for (FixedAssetDepreciation depreciation : chunk.getDepreciations()) {
+            if (hasComment) {
+                depreciation.setDescription(describePeriod(period) + ": " + request.getComment());
+            }
+            items.add(toItemResponse(depreciation, sliceById.get(depreciation.getFixedAsset().getFixedAssetId()),
+                    usage, request.getComment()));
+        }
+        items.sort(Comparator.comparing(DepreciationItemResponse::getFixedAssetId));
+
+        return items;
+    }
+
+    /**
+     * Preview one chunk of a batch slice and describe the records the run would create
+     */
+    private List<DepreciationItemResponse> previewBatchDepreciationChunk(List<DepreciationSliceAsset> slice,
+            BatchDepreciationRequest request, MonthlyUsageSnapshot usage, List<String> errors) {
+        LocalDate period = request.getPeriod();
+        Map<Long, DepreciationSliceAsset> sliceById = new HashMap<>();
+        slice.forEach(asset -> sliceById.put(asset.getFixedAssetId(), asset));
+
+        List<DepreciationItemResponse> items = new ArrayList<>();
+        previewService.previewAssets(sliceById.keySet(), period, usage, new DepreciationPreviewListener() {
+            @Override
+            public void onCalculated(AssetDepreciationSnapshot asset, long amount, long netBookValue,
+                    long salvageValue) {
+                items.add(toItemResponse(asset, amount, netBookValue, sliceById.get(asset.getFixedAssetId()),
+                        period, usage, request.getComment()));
+            }
+
+            @Override
+            public void onRejected(AssetDepreciationSnapshot asset, String reason) {
+                log.error("Error calculating depreciation for asset {}: {}", asset.getFixedAssetId(), reason);
+                addError(errors, "Asset " + asset.getFixedAssetId() + ": " + reason);
+            }
+        });
+        items.sort(Comparator.comparing(DepreciationItemResponse::getFixedAssetId));
+
+        return items;
+    }
+
+    /**
+     * Describe a depreciation record of a batch run
+     */
+    private DepreciationItemResponse toItemResponse(FixedAssetDepreciation depreciation,
+            DepreciationSliceAsset sliceAsset, MonthlyUsageSnapshot usage, String comment) {
+        FixedAsset asset = depreciation.getFixedAsset();
+        LocalDate period = depreciation.getDepreciationPeriod();
+
+        DepreciationItemResponse item = new DepreciationItemResponse();
+        item.setDepreciationId(depreciation.getDepreciationId());
+        item.setDepreciationPeriod(period);
+
+        item.setFixedAssetId(asset.getFixedAssetId());
+        item.setAssetNumber(asset.getAssetNumber());
+        item.setAssetDescription(asset.getDescription());
+        item.setClassName(asset.getAssetClass() != null ? asset.getAssetClass().getDescription() : null);
+
+        item.setGrossCost(depreciation.getOpeningGrossCost());
+        item.setSalvageValue(asset.getSalvageValue());
+        item.setOpeningAccumulatedDepreciation(depreciation.getOpeningAccumulatedDepreciation());
+        item.setDepreciationAmount(depreciation.getDepreciationAmount());
+        item.setClosingAccumulatedDepreciation(depreciation.getClosingAccumulatedDepreciation());
+        item.setNetBookValue(depreciation.getClosingNetBookValue());
+
+        describeSchedule(item, asset.getFixedAssetId(), asset.getDepreciationMethod(), asset.getUsefulLifeMonths(),
+                asset.getDepreciationStartDate(), usage);
+
+        item.setExpenseItem(sliceAsset.getExpenseItem());
+        item.setBusinessActivity(sliceAsset.getBusinessActivity());
+        item.setDepartment(asset.getDepartment());
+
+        item.setIsPosted(false);
+        item.setComment(comment);
+
+        return item;
+    }
+
+    /**
+     * Describe the record a batch run would create from a previewed asset, which has no id yet
+     */
+    private DepreciationItemResponse toItemResponse(AssetDepreciationSnapshot asset, long amount,
+            long netBookValue, DepreciationSliceAsset sliceAsset, LocalDate period, MonthlyUsageSnapshot usage,
+            String comment) {
+        long openingAccumulatedDepreciation = ScaledMoney.of(asset.getAccumulatedDepreciation());
+
+        DepreciationItemResponse item = new DepreciationItemResponse();
+        item.setDepreciationPeriod(period);
+
+        item.setFixedAssetId(asset.getFixedAssetId());
+        item.setAssetNumber(asset.getAssetNumber());
+        item.setAssetDescription(sliceAsset.getAssetDescription());
+        item.setClassName(asset.getClassName());
+
+        item.setGrossCost(ScaledMoney.toBigDecimal(ScaledMoney.add(ScaledMoney.of(asset.getInitialCost()),
+                ScaledMoney.of(asset.getCostAdjustment()))));
+        item.setSalvageValue(asset.getSalvageValue());
+        item.setOpeningAccumulatedDepreciation(ScaledMoney.toBigDecimal(openingAccumulatedDepreciation));
+        item.setDepreciationAmount(ScaledMoney.toBigDecimal(amount));
+        item.setClosingAccumulatedDepreciation(
+                ScaledMoney.toBigDecimal(ScaledMoney.add(openingAccumulatedDepreciation, amount)));
+        item.setNetBookValue(ScaledMoney.toBigDecimal(ScaledMoney.subtract(netBookValue, amount)));
+
+        describeSchedule(item, asset.getFixedAssetId(), asset.getDepreciationMethod(), asset.getUsefulLifeMonths(),
+                asset.getDepreciationStartDate(), usage);
+
+        item.setExpenseItem(sliceAsset.getExpenseItem());
+        item.setBusinessActivity(sliceAsset.getBusinessActivity());
+        item.setDepartment(asset.getDepartment());
+
+        item.setIsPosted(false);
+        item.setComment(comment);
+
+        return item;
+    }
+
+    private void describeSchedule(DepreciationItemResponse item, Long assetId, DepreciationMethod method,
+            Integer usefulLifeMonths, LocalDate depreciationStartDate, MonthlyUsageSnapshot usage) {
+        item.setDepreciationMethod(method.name());
+        item.setUsefulLifeMonths(usefulLifeMonths);
+        if (usefulLifeMonths != null) {
+            LocalDate period = item.getDepreciationPeriod();
+            int elapsedMonths = DepreciationBatch.elapsedMonths(depreciationStartDate, period) + 1;
+            item.setRemainingUsefulLifeMonths(Math.max(0, usefulLifeMonths - elapsedMonths));
+        }
+        if (depreciationStrategies.get(method).usesUnits()) {
+            item.setUnitsUsed(usage.unitsUsed(assetId));
+        }
+    }
+
+    /**
+     * Catch up depreciation for one asset: create every missing monthly record from the month after
+     * its last depreciation up to the target period in one pass, and save them together
+     */
+    public List<FixedAssetDepreciation> catchUpDepreciation(Long assetId, LocalDate targetPeriod) {
+        log.info("Catching up depreciation for asset {} up to period {}", assetId, targetPeriod);
+
+        FixedAsset asset = findAssetById(assetId);
+        Map<LocalDate, MonthlyUsageSnapshot> usageByPeriod = loadMonthlyUsageUpTo(List.of(asset), targetPeriod);
+        List<String> errors = new ArrayList<>();
+
+        List<FixedAssetDepreciation> rows = buildCatchUpDepreciation(asset, targetPeriod, usageByPeriod, errors);
+        usageByPeriod.values().forEach(usage -> errors.addAll(usage.summarizeUnavailableUsage()));
+
+        if (rows.isEmpty() && !errors.isEmpty()) {
+            throw new BusinessException(errors.get(0));
+        }
+
+        List<FixedAssetDepreciation> saved = depreciationRepository.saveAll(rows);
+        fixedAssetRepository.save(asset);
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(AssetsChangedEvent.of(assetId));
+        }
+
+        if (!isCaughtUp(asset, targetPeriod)) {
+            log.warn("Depreciation for asset {} caught up only to period {}: {}", assetId,
+                    asset.getLastDepreciationDate(), errors.isEmpty() ? "not eligible" : errors.get(0));
+        }
+
+        log.info("Created {} catch-up depreciation records for asset {}", saved.size(), assetId);
+
+        return saved;
+    }
+
+    /**
+     * Catch up depreciation for the whole portfolio up to a target period.
+     * Assets are read in id chunks; each chunk builds all missing monthly records of its assets in memory
+     * and saves them as one batch in its own transaction, so a failed chunk does not roll back the others.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DepreciationRunResponse catchUpDepreciationForPortfolio(LocalDate targetPeriod, int chunkSize) {
+        log.info("Catching up depreciation for all assets up to period {}", targetPeriod);
+
+        return catchUpInChunks(targetPeriod, chunkSize, DepreciationRunMode.CATCH_UP,
+                (lastAssetId, chunk) -> fixedAssetRepository.findAssetIdsNeedingDepreciationAfter(targetPeriod,
+                        lastAssetId, chunk));
+    }
+
+    /**
+     * Catch up depreciation up to a target period for the assets whose next depreciation date is due.
+     * Reads only the due assets through the (status, next_depreciation_date) index instead of scanning
+     * every asset's last depreciation date; otherwise behaves like the portfolio catch-up.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DepreciationRunResponse catchUpDueDepreciation(LocalDate targetPeriod, int chunkSize) {
+        log.info("Catching up depreciation due up to period {}", targetPeriod);
+
+        LocalDate lastPeriod = targetPeriod.with(TemporalAdjusters.lastDayOfMonth());
+        return catchUpInChunks(targetPeriod, chunkSize, DepreciationRunMode.SCHEDULED,
+                (lastAssetId, chunk) -> fixedAssetRepository.findDueAssetIdsAfter(lastPeriod, lastAssetId, chunk));
+    }
+
+    /**
+     * Catch up depreciation up to a target period for the assets returned chunk by chunk by a keyset query,
+     * each chunk in its own transaction
+     */
+    private DepreciationRunResponse catchUpInChunks(LocalDate targetPeriod, int chunkSize, DepreciationRunMode mode,
+            BiFunction<Long, Pageable, List<Long>> nextChunk) {
+        if (chunkSize < 1) {
+            throw new BusinessException("Chunk size must be at least 1");
+        }
+
+        long startTime = System.nanoTime();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        DepreciationRunResponse response = new DepreciationRunResponse();
+        response.setPeriod(targetPeriod);
+        response.setMode(mode);
+        response.setTotalAssets(0);
+        response.setSuccessCount(0);
+        response.setErrorCount(0);
+        response.setDepreciationRowsCreated(0);
+        response.setTotalDepreciationAmount(BigDecimal.ZERO);
+        response.setErrors(new ArrayList<>());
+
+        long lastAssetId = 0L;
+        while (true) {
+            List<Long> assetIds = nextChunk.apply(lastAssetId, chunk);
+            if (assetIds.isEmpty()) {
+                break;
+            }
+
+            try {
+                chunkTransaction.executeWithoutResult(status -> catchUpChunk(assetIds, targetPeriod, response));
+            } catch (Exception e) {
+                log.error("Catch-up chunk of assets {}-{} rolled back: {}", assetIds.get(0),
+                        assetIds.get(assetIds.size() - 1), e.getMessage());
+                addError(response.getErrors(), "Assets " + assetIds.get(0) + "-" + assetIds.get(assetIds.size() - 1)
+                        + " rolled back: " + e.getMessage());
+                response.setErrorCount(response.getErrorCount() + assetIds.size());
+            }
+
+            response.setTotalAssets(response.getTotalAssets() + assetIds.size());
+            lastAssetId = assetIds.get(assetIds.size() - 1);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        response.setElapsedMillis(elapsedMillis);
+        response.setAssetsPerSecond(throughput(response.getTotalAssets(), elapsedMillis));
+
+        log.info("Completed {} depreciation up to period {}. Assets: {}, Records: {}, Errors: {}", mode, targetPeriod,
+                response.getSuccessCount(), response.getDepreciationRowsCreated(), response.getErrorCount());
+
+        return response;
+    }
+
+    /**
+     * Build and save the catch-up records of one chunk of assets; counters are added to the response
+     * only once the chunk has been written
+     */
+    private void catchUpChunk(List<Long> assetIds, LocalDate targetPeriod, DepreciationRunResponse response) {
+        List<FixedAsset> assets = fixedAssetRepository.findAllById(assetIds);
+        Map<LocalDate, MonthlyUsageSnapshot> usageByPeriod = loadMonthlyUsageUpTo(assets, targetPeriod);
+
+        List<FixedAssetDepreciation> rows = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int caughtUp = 0;
+
+        for (FixedAsset asset : assets) {
+            rows.addAll(buildCatchUpDepreciation(asset, targetPeriod, usageByPeriod, errors));
+            if (isCaughtUp(asset, targetPeriod)) {
+                caughtUp++;
+            }
+        }
+
+        depreciationRepository.saveAll(rows);
+        fixedAssetRepository.saveAll(assets);
+        entityManager.flush();
+        if (!rows.isEmpty()) {
+            eventPublisher.publishEvent(new AssetsChangedEvent(rows.stream()
+                    .map(row -> row.getFixedAsset().getFixedAssetId())
+                    .distinct()
+                    .toList()));
+        }
+
+        usageByPeriod.values().forEach(usage -> errors.addAll(0, usage.summarizeUnavailableUsage()));
+
+        response.setSuccessCount(response.getSuccessCount() + caughtUp);
+        response.setErrorCount(response.getErrorCount() + assets.size() - caughtUp);
+        response.setDepreciationRowsCreated(response.getDepreciationRowsCreated() + rows.size());
+        response.setTotalDepreciationAmount(rows.stream()
+                .map(FixedAssetDepreciation::getDepreciationAmount)
+                .reduce(response.getTotalDepreciationAmount(), BigDecimal::add));
+        addErrors(response.getErrors(), errors);
+    }
+
+    /**
+     * Build, in memory, the missing monthly depreciation records of an asset up to the target period
+     * and roll the asset forward through them. Stops early, keeping the records built so far, when the
+     * asset becomes fully depreciated or a period cannot be depreciated; the latter is added to errors
+     * (missing or unprocessed usage is recorded in the period's usage snapshot instead).
+     */
+    private List<FixedAssetDepreciation> buildCatchUpDepreciation(FixedAsset asset, LocalDate targetPeriod,
+            Map<LocalDate, MonthlyUsageSnapshot> usageByPeriod, List<String> errors) {
+        List<FixedAssetDepreciation> rows = new ArrayList<>();
+        LocalDate lastPeriod = targetPeriod.with(TemporalAdjusters.lastDayOfMonth());
+        LocalDate period = firstMissingPeriod(asset);
+
+        while (period != null && !period.isAfter(lastPeriod) && asset.getStatus() == AssetStatus.ACTIVE) {
+            try {
+                validateAssetForDepreciation(asset, period);
+
+                int unitsUsed = 0;
+                if (depreciationStrategies.get(asset.getDepreciationMethod()).usesUnits()) {
+                    LocalDate usagePeriod = period;
+                    unitsUsed = usageByPeriod
+                            .computeIfAbsent(period, p -> MonthlyUsageSnapshot.of(usagePeriod, List.of()))
+                            .unitsUsed(asset.getFixedAssetId());
+                    if (unitsUsed < 0) {
+                        break;
+                    }
+                }
+                BigDecimal depreciationAmount = calculateDepreciationAmount(asset, period, unitsUsed);
+
+                FixedAssetDepreciation depreciation = newDepreciation(asset, period, depreciationAmount);
+                applyDepreciation(asset, depreciation);
+                rows.add(depreciation);
+            } catch (BusinessException | ArithmeticException e) {
+                errors.add("Asset " + asset.getFixedAssetId() + ", period " + period + ": " + e.getMessage());
+                break;
+            }
+
+            period = period.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+        }
+
+        return rows;
+    }
+
+    /**
+     * Whether an asset is depreciated through the target period or no longer depreciates
+     */
+    private boolean isCaughtUp(FixedAsset asset, LocalDate targetPeriod) {
+        if (asset.getStatus() != AssetStatus.ACTIVE) {
+            return true;
+        }
+
+        LocalDate lastPeriod = targetPeriod.with(TemporalAdjusters.lastDayOfMonth());
+        return asset.getLastDepreciationDate() != null && !asset.getLastDepreciationDate().isBefore(lastPeriod);
+    }
+
+    /**
+     * First month-end period an asset has not been depreciated for
+     */
+    private LocalDate firstMissingPeriod(FixedAsset asset) {
+        if (asset.getLastDepreciationDate() != null) {
+            return asset.getLastDepreciationDate().plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+        }
+        if (asset.getDepreciationStartDate() != null) {
+            return asset.getDepreciationStartDate().with(TemporalAdjusters.lastDayOfMonth());
+        }
+        return null;
+    }
+
+    /**
+     * Load the monthly usage of the given units of production assets up to a period in one query, by period
+     */
+    private Map<LocalDate, MonthlyUsageSnapshot> loadMonthlyUsageUpTo(List<FixedAsset> assets, LocalDate targetPeriod) {
+        List<Long> assetIds = assets.stream()
+                .filter(asset -> asset.getDepreciationMethod() != null
+                        && depreciationStrategies.get(asset.getDepreciationMethod()).usesUnits())
+                .map(FixedAsset::getFixedAssetId)
+                .toList();
+
+        Map<LocalDate, MonthlyUsageSnapshot> usageByPeriod = new HashMap<>();
+        if (assetIds.isEmpty()) {
+            return usageByPeriod;
+        }
+
+        Map<LocalDate, List<Object[]>> rowsByPeriod = new HashMap<>();
+        for (Object[] row : monthlyUsageRepository.findUnitsByAssetIdsUpTo(assetIds, targetPeriod)) {
+            rowsByPeriod.computeIfAbsent((LocalDate) row[3], p -> new ArrayList<>()).add(row);
+        }
+        rowsByPeriod.forEach((period, rows) -> usageByPeriod.put(period, MonthlyUsageSnapshot.of(period, rows)));
+
+        return usageByPeriod;
+    }
+
+    /**
+     * Depreciate one id-range partition inside its own transaction
+     */
+    private DepreciationPartitionResponse runPartition(int partitionNumber, List<Long> assetIds, LocalDate period,
+            MonthlyUsageSnapshot usage, TransactionTemplate partitionTransaction, List<String> errors) {
+        long startTime = System.nanoTime();
+
+        DepreciationPartitionResponse result = new DepreciationPartitionResponse();
+        result.setPartitionNumber(partitionNumber);
+        result.setFirstAssetId(assetIds.get(0));
+        result.setLastAssetId(assetIds.get(assetIds.size() - 1));
+        result.setAssetCount(assetIds.size());
+        result.setSuccessCount(0);
+        result.setErrorCount(0);
+        result.setDepreciationAmount(BigDecimal.ZERO);
+
+        try {
+            partitionTransaction.executeWithoutResult(status -> {
+                for (int from = 0; from < assetIds.size(); from += STRATEGY_BATCH_SIZE) {
+                    List<Long> batchIds = assetIds.subList(from, Math.min(from + STRATEGY_BATCH_SIZE, assetIds.size()));
+                    DepreciationChunkResult chunk = depreciateChunk(fixedAssetRepository.findAllById(batchIds),
+                            period, usage);
+                    result.setDepreciationAmount(result.getDepreciationAmount().add(chunk.getTotalAmount()));
+                    result.setSuccessCount(result.getSuccessCount() + chunk.getSuccessCount());
+                    result.setErrorCount(result.getErrorCount() + batchIds.size() - chunk.getSuccessCount());
+                    addChunkErrors(errors, chunk);
+                }
+                if (result.getSuccessCount() > 0) {
+                    eventPublisher.publishEvent(AssetsChangedEvent.all());
+                }
+            });
+        } catch (Exception e) {
+            log.error("Depreciation partition {} (assets {}-{}) rolled back: {}", partitionNumber,
+                    result.getFirstAssetId(), result.getLastAssetId(), e.getMessage());
+            addError(errors, "Partition " + partitionNumber + " rolled back: " + e.getMessage());
+            result.setSuccessCount(0);
+            result.setErrorCount(assetIds.size());
+            result.setDepreciationAmount(BigDecimal.ZERO);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        result.setElapsedMillis(elapsedMillis);
+        result.setAssetsPerSecond(throughput(assetIds.size(), elapsedMillis));
+
+        log.info("Depreciation partition {} (assets {}-{}) done. Success: {}, Errors: {}, {} assets/s",
+                partitionNumber, result.getFirstAssetId(), result.getLastAssetId(),
+                result.getSuccessCount(), result.getErrorCount(), result.getAssetsPerSecond());
+
+        return result;
+    }
+
+    /**
+     * Split ordered ids into at most the given number of contiguous, non-empty ranges of similar size
+     */
+    private List<List<Long>> splitIntoRanges(List<Long> ids, int rangeCount) {
+        List<List<Long>> ranges = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return ranges;
+        }
+
+        int count = Math.min(rangeCount, ids.size());
+        int baseSize = ids.size() / count;
+        int remainder = ids.size() % count;
+
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int to = from + baseSize + (i < remainder ? 1 : 0);
+            ranges.add(ids.subList(from, to));
+            from = to;
+        }
+
+        return ranges;
+    }
+
+    private String describePeriod(LocalDate period) {
+        return "Depreciation for " + period.getMonth() + " " + period.getYear();
+    }
+
+    /**
+     * Report the assets a chunk depreciated, with one event for the chunk's transaction
+     */
+    private void publishChanged(DepreciationChunkResult chunk) {
+        if (!chunk.getDepreciations().isEmpty()) {
+            eventPublisher.publishEvent(new AssetsChangedEvent(chunk.getDepreciations().stream()
+                    .map(depreciation -> depreciation.getFixedAsset().getFixedAssetId())
+                    .toList()));
+        }
+    }
+
+    private void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Log the failed assets of a chunk and add them to the reported errors
+     */
+    private void addChunkErrors(List<String> errors, DepreciationChunkResult chunk) {
+        chunk.getFailures().forEach((assetId, reason) -> {
+            log.error("Error calculating depreciation for asset {}: {}", assetId, reason);
+            addError(errors, "Asset " + assetId + ": " + reason);
+        });
+    }
+
+    private void addErrors(List<String> errors, List<String> newErrors) {
+        for (String error : newErrors) {
+            addError(errors, error);
+        }
+    }
+
+    /**
+     * Put the bulk report of missing or unprocessed usage ahead of the per-asset errors
+     */
+    private List<String> withUsageSummary(MonthlyUsageSnapshot usage, List<String> errors) {
+        List<String> reported = new ArrayList<>(usage.summarizeUnavailableUsage());
+        reported.addAll(errors);
+        return reported;
+    }
+
+    private double throughput(long assetCount, long elapsedMillis) {
+        return elapsedMillis > 0 ? assetCount * 1000.0 / elapsedMillis : assetCount;
     }
 
     /**
@@ -212,13 +1226,21 @@ public class DepreciationService {
         }
 
         FixedAsset asset = depreciation.getFixedAsset();
+        String description = describePeriod(depreciation.getDepreciationPeriod()) + " - " + asset.getAssetNumber();
 
-        // Create journal entry
-        // Dr. Depreciation Expense
-        // Cr. Accumulated Depreciation
+        // Dr. Depreciation Expense, Cr. Accumulated Depreciation
+        JournalDocument document = new JournalDocument("FAD-" + depreciationId,
+                depreciation.getDepreciationPeriod(), DEPRECIATION_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(depreciation.getDepreciationNumber());
+        document.setPostedBy(depreciation.getPostedBy());
+        document.debit(asset.getExpenseGlAccount().getAccountId(), depreciation.getDepreciationAmount(), description);
+        document.credit(asset.getDepreciationGlAccount().getAccountId(), depreciation.getDepreciationAmount(),
+                description);
 
-        // TODO: Implement journal entry creation via JournalEntryService
-        // For now, just mark as posted
+        List<Long> journalEntryIds = journalWriter.writeAll(List.of(document));
+        if (journalEntryIds.get(0) != null) {
+            depreciation.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(0)));
+        }
 
         depreciation.setIsPosted(true);
         depreciation.setPostedDate(LocalDateTime.now());
@@ -228,6 +1250,60 @@ public class DepreciationService {
         log.info("Posted depreciation: {}", depreciationId);
     }
 
+    /**
+     * Post all unposted depreciation of a period to GL as one journal entry.
+     * Lines are summarized per expense account, accumulated depreciation account and department
+     * (Dr. Depreciation Expense, Cr. Accumulated Depreciation), and every depreciation row is linked
+     * to the entry and marked posted with a single UPDATE.
+     */
+    public DepreciationPostingResponse postDepreciationForPeriod(LocalDate period, String postedBy) {
+        log.info("Posting depreciation for period {}", period);
+        long startedAt = System.currentTimeMillis();
+
+        List<Object[]> groups = depreciationRepository.summarizeUnpostedByPeriod(period);
+        if (groups.isEmpty()) {
+            throw new BusinessException("No unposted depreciation for period " + period);
+        }
+
+        String entryNumber = "DEP-" + period.format(DateTimeFormatter.ofPattern("yyyyMM")) + "-" + startedAt;
+        JournalDocument document = new JournalDocument(entryNumber, period, DEPRECIATION_DOCUMENT_TYPE,
+                describePeriod(period));
+        document.setPostedBy(postedBy);
+
+        int rowCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (Object[] group : groups) {
+            Long expenseAccountId = ((Number) group[0]).longValue();
+            Long depreciationAccountId = ((Number) group[1]).longValue();
+            String department = (String) group[2];
+            BigDecimal amount = (BigDecimal) group[4];
+
+            rowCount += ((Number) group[3]).intValue();
+            totalAmount = totalAmount.add(amount);
+
+            String lineDescription = describePeriod(period) + (department != null ? " - " + department : "");
+            document.debit(expenseAccountId, amount, lineDescription);
+            document.credit(depreciationAccountId, amount, lineDescription);
+        }
+
+        long journalEntryId = journalWriter.write(document);
+
+        int postedCount = depreciationRepository.markPostedByPeriod(period, journalEntryId, LocalDateTime.now(),
+                postedBy);
+        if (postedCount != rowCount) {
+            // Rows were created or posted concurrently; roll back rather than post a mismatching entry
+            throw new BusinessException("Depreciation for period " + period + " changed while posting: summarized " +
+                    rowCount + " rows, marked " + postedCount);
+        }
+
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        log.info("Posted {} depreciation records for period {} as journal entry {} with {} lines in {} ms",
+                postedCount, period, journalEntryId, document.getLines().size(), elapsedMillis);
+
+        return new DepreciationPostingResponse(period, journalEntryId, entryNumber, document.getLines().size(),
+                postedCount, totalAmount, elapsedMillis);
+    }
+
     /**
      * Get depreciation history for an asset
      */
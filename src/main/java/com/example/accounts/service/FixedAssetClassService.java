@@ -5,8 +5,10 @@ import com.example.accounts.dto.FixedAssetClassResponse;
 import com.example.accounts.entity.FixedAssetClass;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetClassRepository;
+import com.example.accounts.service.report.AssetsChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
 public class FixedAssetClassService {
 
     private final FixedAssetClassRepository fixedAssetClassRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new fixed asset class
@@ -132,6 +135,8 @@ public class FixedAssetClassService {
         }
 
         FixedAssetClass updated = fixedAssetClassRepository.save(assetClass);
+        // Class names appear in the reports of all its assets
+        eventPublisher.publishEvent(AssetsChangedEvent.all());
         log.info("Updated fixed asset class: {}", classId);
 
         return toResponse(updated);
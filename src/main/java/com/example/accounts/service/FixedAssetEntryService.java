@@ -1,18 +1,29 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.*;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.*;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.journal.PostingAccounts;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Entry operations (Asset Activation)
@@ -26,6 +37,16 @@ public class FixedAssetEntryService {
     private final FixedAssetEntryRepository entryRepository;
     private final FixedAssetRepository fixedAssetRepository;
     private final ChartOfAccountRepository chartOfAccountRepository;
+    private final JournalWriter journalWriter;
+    private final PostingAccounts postingAccounts;
+    private final EntityManager entityManager;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Journal document type of fixed asset entry postings
+     */
+    private static final String JOURNAL_DOCUMENT_TYPE = "FA_ENTRY";
 
     /**
      * Create and post a fixed asset entry (activates the asset)
@@ -62,11 +83,71 @@ public class FixedAssetEntryService {
         FixedAssetEntry entry = entryRepository.findById(entryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Fixed asset entry not found with id: " + entryId));
 
-        if (entry.getIsPosted()) {
-            throw new BusinessException("Entry is already posted");
+        post(List.of(entry));
+    }
+
+    /**
+     * Post entries in one go: assets are activated and the journal entries are written in JDBC batches
+     */
+    public int postEntries(List<Long> entryIds) {
+        log.info("Posting {} fixed asset entries", entryIds.size());
+
+        List<FixedAssetEntry> entries = entryRepository.findAllWithAssetByIdIn(entryIds);
+        Set<Long> found = entries.stream().map(FixedAssetEntry::getEntryId).collect(Collectors.toSet());
+        for (Long entryId : entryIds) {
+            if (!found.contains(entryId)) {
+                throw new ResourceNotFoundException("Fixed asset entry not found with id: " + entryId);
+            }
+        }
+
+        post(entries);
+
+        return entries.size();
+    }
+
+    /**
+     * Activate the assets of loaded entries, journal them and mark them posted
+     */
+    private void post(List<FixedAssetEntry> entries) {
+        List<JournalDocument> documents = new ArrayList<>(entries.size());
+        for (FixedAssetEntry entry : entries) {
+            if (entry.getIsPosted()) {
+                throw new BusinessException("Entry " + entry.getEntryId() + " is already posted");
+            }
+
+            activateAsset(entry);
+            documents.add(toJournalDocument(entry));
         }
 
+        List<Long> journalEntryIds = journalWriter.writeAll(documents);
+
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < entries.size(); i++) {
+            FixedAssetEntry entry = entries.get(i);
+            if (journalEntryIds.get(i) != null) {
+                entry.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(i)));
+            }
+            entry.setIsPosted(true);
+            entry.setPostedDate(postedDate);
+
+            log.debug("Posted fixed asset entry {} and activated asset {}", entry.getEntryId(),
+                    entry.getFixedAsset().getFixedAssetId());
+        }
+
+        entryRepository.saveAll(entries);
+        eventPublisher.publishEvent(new AssetsChangedEvent(entries.stream()
+                .map(entry -> entry.getFixedAsset().getFixedAssetId())
+                .toList()));
+
+        log.info("Posted {} fixed asset entries", entries.size());
+    }
+
+    /**
+     * Update asset with entry values and activate it
+     */
+    private void activateAsset(FixedAssetEntry entry) {
         FixedAsset asset = entry.getFixedAsset();
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
 
         // Update asset with entry values
         asset.setInitialCost(entry.getInitialCost());
@@ -81,10 +162,8 @@ public class FixedAssetEntryService {
 
         // Set depreciation dates
         asset.setDepreciationStartDate(entry.getDepreciationStartDate());
-        asset.setNextDepreciationDate(
-                entry.getDepreciationStartDate()
-                        .plusMonths(1)
-                        .with(TemporalAdjusters.lastDayOfMonth()));
+        // First period due is the month the depreciation starts in
+        asset.setNextDepreciationDate(entry.getDepreciationStartDate().with(TemporalAdjusters.lastDayOfMonth()));
 
         // Override GL accounts if provided in entry
         if (entry.getGlAccount() != null) {
@@ -102,14 +181,24 @@ public class FixedAssetEntryService {
         asset.setActivationDate(entry.getEntryDate());
 
         fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, asset);
+    }
 
-        // Mark entry as posted
-        entry.setIsPosted(true);
-        entry.setPostedDate(LocalDateTime.now());
+    /**
+     * Dr. Fixed Assets at Cost, Cr. Fixed Assets Acquired for the initial cost
+     */
+    private JournalDocument toJournalDocument(FixedAssetEntry entry) {
+        FixedAsset asset = entry.getFixedAsset();
+        String description = "Fixed asset entry " + entry.getEntryNumber() + " - " + asset.getAssetNumber();
 
-        entryRepository.save(entry);
+        JournalDocument document = new JournalDocument("FAE-" + entry.getEntryId(), entry.getEntryDate(),
+                JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(entry.getEntryNumber());
+        document.setPostedBy(entry.getPostedBy());
+        document.debit(asset.getGlAccount().getAccountId(), entry.getInitialCost(), description);
+        document.credit(postingAccounts.fixedAssetsAcquired(), entry.getInitialCost(), description);
 
-        log.info("Posted fixed asset entry {} and activated asset {}", entryId, asset.getFixedAssetId());
+        return document;
     }
 
     /**
@@ -125,7 +214,7 @@ public class FixedAssetEntryService {
      * Get entries by asset
      */
     @Transactional(readOnly = true)
-    public java.util.List<FixedAssetEntry> getEntriesByAsset(Long assetId) {
+    public List<FixedAssetEntry> getEntriesByAsset(Long assetId) {
         return entryRepository.findByFixedAssetId(assetId);
     }
 
@@ -156,6 +245,13 @@ public class FixedAssetEntryService {
                     throw new BusinessException("Total units is required for units of production depreciation");
                 }
                 break;
+            case DECLINING_BALANCE:
+            case SUM_OF_YEARS_DIGITS:
+                if (entry.getUsefulLifeMonths() == null || entry.getUsefulLifeMonths() <= 0) {
+                    throw new BusinessException("Useful life in months is required for "
+                            + entry.getDepreciationMethod() + " depreciation");
+                }
+                break;
         }
     }
 }
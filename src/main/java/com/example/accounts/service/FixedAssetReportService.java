@@ -1,12 +1,20 @@
 package com.example.accounts.service;
 
 import com.example.accounts.dto.DepreciationScheduleDTO;
+import com.example.accounts.dto.DepreciationStatementDTO;
+import com.example.accounts.dto.DepreciationStatementDepartmentDTO;
+import com.example.accounts.dto.DepreciationStatementResponse;
 import com.example.accounts.dto.FixedAssetSummaryDTO;
 import com.example.accounts.entity.FixedAsset;
-import com.example.accounts.entity.FixedAssetDepreciation;
 import com.example.accounts.entity.enums.AssetStatus;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.DepreciationStatementRepository;
 import com.example.accounts.repository.FixedAssetDepreciationRepository;
 import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.repository.FixedAssetTotalsRepository;
+import com.example.accounts.service.depreciation.DepreciationKernel;
+import com.example.accounts.service.report.ReportCache;
+import com.example.accounts.util.ScaledMoney;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,10 +25,11 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
- * Service for Fixed Assets Reports and Dashboards
+ * Service for Fixed Assets Reports and Dashboards.
+ * The summary, schedules and statement are served from the report cache until a posting changes their assets.
  */
 @Service
 @RequiredArgsConstructor
@@ -30,62 +39,25 @@ public class FixedAssetReportService {
 
     private final FixedAssetRepository fixedAssetRepository;
     private final FixedAssetDepreciationRepository depreciationRepository;
+    private final FixedAssetTotalsRepository totalsRepository;
+    private final DepreciationStatementRepository statementRepository;
+    private final ReportCache reportCache;
 
     /**
-     * Get summary/dashboard data
+     * Get summary/dashboard data.
+     * Counts and value totals are read from the maintained portfolio totals in a single row;
+     * the current period figures come from aggregate and count queries.
      */
     public FixedAssetSummaryDTO getSummary() {
-        log.info("Generating fixed assets summary");
-
-        List<FixedAsset> allAssets = fixedAssetRepository.findAll();
-
-        FixedAssetSummaryDTO summary = new FixedAssetSummaryDTO();
-
-        // Total counts
-        summary.setTotalAssets((long) allAssets.size());
-
-        // Financial totals
-        BigDecimal totalGrossCost = BigDecimal.ZERO;
-        BigDecimal totalAccumulatedDepreciation = BigDecimal.ZERO;
-        BigDecimal totalNetBookValue = BigDecimal.ZERO;
-        BigDecimal totalSalvageValue = BigDecimal.ZERO;
-
-        // Status counts
-        long newAssets = 0;
-        long activeAssets = 0;
-        long fullyDepreciatedAssets = 0;
-        long heldForSaleAssets = 0;
-        long disposedAssets = 0;
-        long writtenOffAssets = 0;
-
-        for (FixedAsset asset : allAssets) {
-            totalGrossCost = totalGrossCost.add(asset.getGrossCost());
-            totalAccumulatedDepreciation = totalAccumulatedDepreciation.add(asset.getAccumulatedDepreciation());
-            totalNetBookValue = totalNetBookValue.add(asset.getNetBookValue());
-            totalSalvageValue = totalSalvageValue
-                    .add(asset.getSalvageValue() != null ? asset.getSalvageValue() : BigDecimal.ZERO);
-
-            switch (asset.getStatus()) {
-                case NEW -> newAssets++;
-                case ACTIVE -> activeAssets++;
-                case FULLY_DEPRECIATED -> fullyDepreciatedAssets++;
-                case HELD_FOR_SALE -> heldForSaleAssets++;
-                case DISPOSED -> disposedAssets++;
-                case WRITTEN_OFF -> writtenOffAssets++;
-            }
-        }
+        return reportCache.get(ReportCache.SUMMARY, null, this::computeSummary);
+    }
 
-        summary.setTotalGrossCost(totalGrossCost);
-        summary.setTotalAccumulatedDepreciation(totalAccumulatedDepreciation);
-        summary.setTotalNetBookValue(totalNetBookValue);
-        summary.setTotalSalvageValue(totalSalvageValue);
+    private FixedAssetSummaryDTO computeSummary() {
+        log.info("Generating fixed assets summary");
 
-        summary.setNewAssets(newAssets);
-        summary.setActiveAssets(activeAssets);
-        summary.setFullyDepreciatedAssets(fullyDepreciatedAssets);
-        summary.setHeldForSaleAssets(heldForSaleAssets);
-        summary.setDisposedAssets(disposedAssets);
-        summary.setWrittenOffAssets(writtenOffAssets);
+        FixedAssetSummaryDTO summary = totalsRepository.findSummary();
+        BigDecimal totalGrossCost = summary.getTotalGrossCost();
+        BigDecimal totalAccumulatedDepreciation = summary.getTotalAccumulatedDepreciation();
 
         // Calculate average depreciation rate
         if (totalGrossCost.compareTo(BigDecimal.ZERO) > 0) {
@@ -97,16 +69,10 @@ public class FixedAssetReportService {
 
         // Current period depreciation
         LocalDate currentPeriod = LocalDate.now().withDayOfMonth(1);
-        List<FixedAssetDepreciation> currentDepreciations = depreciationRepository
-                .findByDepreciationPeriod(currentPeriod);
-        BigDecimal currentPeriodDepreciation = currentDepreciations.stream()
-                .map(FixedAssetDepreciation::getDepreciationAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        summary.setCurrentPeriodDepreciation(currentPeriodDepreciation);
+        summary.setCurrentPeriodDepreciation(depreciationRepository.sumDepreciationAmountByPeriod(currentPeriod));
 
         // Assets needing depreciation
-        List<FixedAsset> needingDepreciation = fixedAssetRepository.findAssetsNeedingDepreciation(currentPeriod);
-        summary.setAssetsNeedingDepreciation((long) needingDepreciation.size());
+        summary.setAssetsNeedingDepreciation(fixedAssetRepository.countAssetsNeedingDepreciation(currentPeriod));
 
         return summary;
     }
@@ -115,22 +81,26 @@ public class FixedAssetReportService {
      * Get depreciation schedule for all active assets
      */
     public List<DepreciationScheduleDTO> getDepreciationSchedule() {
-        log.info("Generating depreciation schedule");
+        return reportCache.get(ReportCache.DEPRECIATION_SCHEDULE, null, () -> {
+            log.info("Generating depreciation schedule");
 
-        List<FixedAsset> activeAssets = fixedAssetRepository.findByStatus(AssetStatus.ACTIVE);
+            List<FixedAsset> activeAssets = fixedAssetRepository.findByStatus(AssetStatus.ACTIVE);
 
-        return activeAssets.stream()
-                .map(this::toDepreciationScheduleDTO)
-                .collect(Collectors.toList());
+            return activeAssets.stream()
+                    .map(this::toDepreciationScheduleDTO)
+                    .toList();
+        });
     }
 
     /**
      * Get depreciation schedule for specific asset
      */
     public DepreciationScheduleDTO getAssetDepreciationSchedule(Long assetId) {
-        FixedAsset asset = fixedAssetRepository.findById(assetId)
-                .orElseThrow(() -> new RuntimeException("Asset not found"));
-        return toDepreciationScheduleDTO(asset);
+        return reportCache.get(ReportCache.ASSET_DEPRECIATION_SCHEDULE, assetId, () -> {
+            FixedAsset asset = fixedAssetRepository.findById(assetId)
+                    .orElseThrow(() -> new RuntimeException("Asset not found"));
+            return toDepreciationScheduleDTO(asset);
+        });
     }
 
     /**
@@ -173,10 +143,10 @@ public class FixedAssetReportService {
 
         // Calculate monthly depreciation
         if (asset.getUsefulLifeMonths() != null && asset.getUsefulLifeMonths() > 0) {
-            BigDecimal monthlyDepreciation = depreciableAmount.divide(
-                    BigDecimal.valueOf(asset.getUsefulLifeMonths()),
-                    4,
-                    RoundingMode.HALF_UP);
+            BigDecimal monthlyDepreciation = ScaledMoney.toBigDecimal(DepreciationKernel.straightLineMonthly(
+                    ScaledMoney.of(asset.getGrossCost()),
+                    ScaledMoney.of(asset.getSalvageValue()),
+                    asset.getUsefulLifeMonths()));
             dto.setMonthlyDepreciation(monthlyDepreciation);
             dto.setAnnualDepreciation(monthlyDepreciation.multiply(BigDecimal.valueOf(12)));
         }
@@ -192,17 +162,55 @@ public class FixedAssetReportService {
     }
 
     /**
-     * Get Statement of Depreciation Report
-     * Groups assets by department and shows depreciation details
+     * Get Statement of Depreciation Report for the depreciation periods of a month range, inclusive.
+     * Opening balances are the accumulated depreciation before the range, from the depreciation history;
+     * assets are grouped and subtotalled by department. Reads all assets in one query.
      */
-    public List<com.example.accounts.dto.DepreciationStatementDTO> getDepreciationStatement() {
-        log.info("Generating statement of depreciation");
+    public DepreciationStatementResponse getDepreciationStatement(LocalDate fromPeriod, LocalDate toPeriod) {
+        LocalDate from = fromPeriod.withDayOfMonth(1);
+        LocalDate to = toPeriod.withDayOfMonth(1);
+        if (from.isAfter(to)) {
+            throw new BusinessException("Statement period " + fromPeriod + " is after " + toPeriod);
+        }
 
-        List<FixedAsset> allAssets = fixedAssetRepository.findAll();
+        return reportCache.get(ReportCache.DEPRECIATION_STATEMENT, List.of(from, to), () -> {
+            log.info("Generating statement of depreciation from {} to {}", from, to);
+
+            DepreciationStatementResponse response = new DepreciationStatementResponse();
+            response.setFromPeriod(from);
+            response.setToPeriod(to);
+
+            // Lines come ordered by department, so each department is a contiguous run
+            LocalDate toDate = to.plusMonths(1).minusDays(1);
+            List<DepreciationStatementDTO> lines = statementRepository.findStatement(from, toDate);
+            DepreciationStatementDepartmentDTO department = null;
+            for (DepreciationStatementDTO line : lines) {
+                if (department == null || !Objects.equals(department.getDepartment(), line.getDepartment())) {
+                    department = new DepreciationStatementDepartmentDTO();
+                    department.setDepartment(line.getDepartment());
+                    response.getDepartments().add(department);
+                }
+                department.getAssets().add(line);
+                department.setAssetCount(department.getAssetCount() + 1);
+                department.setGrossCost(department.getGrossCost().add(line.getGrossCost()));
+                department.setOpeningBalance(department.getOpeningBalance().add(line.getOpeningBalance()));
+                department.setDepreciationChanges(
+                        department.getDepreciationChanges().add(line.getDepreciationChanges()));
+                department.setClosingBalance(department.getClosingBalance().add(line.getClosingBalance()));
+                department.setNetBookValue(department.getNetBookValue().add(line.getNetBookValue()));
+            }
 
-        return allAssets.stream()
-                .map(this::toDepreciationStatementDTO)
-                .collect(Collectors.toList());
+            for (DepreciationStatementDepartmentDTO subtotal : response.getDepartments()) {
+                response.setAssetCount(response.getAssetCount() + subtotal.getAssetCount());
+                response.setTotalGrossCost(response.getTotalGrossCost().add(subtotal.getGrossCost()));
+                response.setTotalOpeningBalance(response.getTotalOpeningBalance().add(subtotal.getOpeningBalance()));
+                response.setTotalDepreciationChanges(
+                        response.getTotalDepreciationChanges().add(subtotal.getDepreciationChanges()));
+                response.setTotalClosingBalance(response.getTotalClosingBalance().add(subtotal.getClosingBalance()));
+                response.setTotalNetBookValue(response.getTotalNetBookValue().add(subtotal.getNetBookValue()));
+            }
+            return response;
+        });
     }
 
     /**
@@ -217,44 +225,4 @@ public class FixedAssetReportService {
         // In a full implementation, you would have a FixedAssetDocument entity
         return List.of();
     }
-
-    /**
-     * Convert asset to depreciation statement DTO
-     */
-    private com.example.accounts.dto.DepreciationStatementDTO toDepreciationStatementDTO(FixedAsset asset) {
-        com.example.accounts.dto.DepreciationStatementDTO dto = new com.example.accounts.dto.DepreciationStatementDTO();
-
-        dto.setDepartment(asset.getDepartment());
-        dto.setFixedAssetId(asset.getFixedAssetId());
-        dto.setAssetNumber(asset.getAssetNumber());
-        dto.setAssetDescription(asset.getDescription());
-
-        dto.setDepreciationMethod(
-                asset.getDepreciationMethod() != null ? asset.getDepreciationMethod().toString() : null);
-
-        dto.setInitialCost(asset.getInitialCost());
-        dto.setSalvageValue(asset.getSalvageValue());
-        dto.setCostAdjustment(asset.getCostAdjustment());
-
-        // Get opening balance (accumulated depreciation at start of period)
-        // This would typically query the depreciation history
-        dto.setOpeningBalance(BigDecimal.ZERO);
-
-        // Get current period depreciation
-        LocalDate currentPeriod = LocalDate.now().withDayOfMonth(1);
-        List<FixedAssetDepreciation> periodDepreciations = depreciationRepository
-                .findByFixedAssetIdAndPeriod(asset.getFixedAssetId(), currentPeriod)
-                .map(List::of)
-                .orElse(List.of());
-
-        BigDecimal depreciationChanges = periodDepreciations.stream()
-                .map(FixedAssetDepreciation::getDepreciationAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        dto.setDepreciationChanges(depreciationChanges);
-        dto.setClosingBalance(asset.getAccumulatedDepreciation());
-        dto.setNetBookValue(asset.getNetBookValue());
-
-        return dto;
-    }
 }
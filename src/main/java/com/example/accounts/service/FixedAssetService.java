@@ -2,13 +2,16 @@ package com.example.accounts.service;
 
 import com.example.accounts.dto.FixedAssetRequest;
 import com.example.accounts.dto.FixedAssetResponse;
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.*;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.*;
+import com.example.accounts.service.report.AssetsChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,8 @@ public class FixedAssetService {
     private final ChartOfAccountRepository chartOfAccountRepository;
     private final ItemRepository itemRepository;
     private final ExpenseItemRepository expenseItemRepository;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new fixed asset
@@ -48,6 +53,8 @@ public class FixedAssetService {
         asset.setStatus(request.getStatus() != null ? request.getStatus() : AssetStatus.NEW);
 
         FixedAsset saved = fixedAssetRepository.save(asset);
+        totalsService.added(saved);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(saved.getFixedAssetId()));
         log.info("Created fixed asset with id: {} and number: {}", saved.getFixedAssetId(), saved.getAssetNumber());
 
         return toResponse(saved);
@@ -135,9 +142,12 @@ public class FixedAssetService {
             validateStatusTransition(asset.getStatus(), request.getStatus());
         }
 
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
         mapRequestToEntity(request, asset);
 
         FixedAsset updated = fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, updated);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(updated.getFixedAssetId()));
         log.info("Updated fixed asset: {}", assetId);
 
         return toResponse(updated);
@@ -152,6 +162,7 @@ public class FixedAssetService {
         FixedAsset asset = findAssetById(assetId);
         validateStatusTransition(asset.getStatus(), newStatus);
 
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
         asset.setStatus(newStatus);
 
         // Set activation date when moving to ACTIVE
@@ -165,6 +176,8 @@ public class FixedAssetService {
         }
 
         FixedAsset updated = fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, updated);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(updated.getFixedAssetId()));
         log.info("Changed status of asset {} to {}", assetId, newStatus);
 
         return toResponse(updated);
@@ -185,6 +198,8 @@ public class FixedAssetService {
         }
 
         fixedAssetRepository.deleteById(assetId);
+        totalsService.removed(asset);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(asset.getFixedAssetId()));
         log.info("Deleted fixed asset: {}", assetId);
     }
 
@@ -0,0 +1,246 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.FixedAssetTotalsDriftDTO;
+import com.example.accounts.dto.FixedAssetTotalsRow;
+import com.example.accounts.dto.FixedAssetTotalsVerificationResponse;
+import com.example.accounts.entity.FixedAsset;
+import com.example.accounts.entity.enums.AssetStatus;
+import com.example.accounts.repository.FixedAssetTotalsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for the maintained portfolio totals (fixed_asset_totals), by status, class and department.
+ * Lifecycle postings report the assets they change; the deltas are summed per transaction and added to
+ * the rollup right before it commits, so the totals commit or roll back together with the postings and the
+ * group rows stay locked only for the commit. A verification job recomputes the totals from the assets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FixedAssetTotalsService {
+
+    private static final Comparator<FixedAssetTotalsRow> GROUP_ORDER = Comparator
+            .comparing(FixedAssetTotalsRow::getStatus)
+            .thenComparing(FixedAssetTotalsRow::getClassId)
+            .thenComparing(FixedAssetTotalsRow::getDepartment);
+
+    /**
+     * Transaction resource key of the pending deltas
+     */
+    private static final Object PENDING_DELTAS_KEY = new Object();
+
+    private final FixedAssetTotalsRepository totalsRepository;
+
+    @Value("${fixed-assets.totals.verification.enabled:true}")
+    private boolean verificationEnabled;
+
+    /**
+     * Totals of one asset in its group, to be passed to {@link #changed} once the asset has been changed
+     */
+    public static FixedAssetTotalsRow snapshotOf(FixedAsset asset) {
+        return new FixedAssetTotalsRow(
+                (asset.getStatus() != null ? asset.getStatus() : AssetStatus.NEW).name(),
+                asset.getAssetClass() != null ? asset.getAssetClass().getClassId() : null,
+                asset.getDepartment() != null ? asset.getDepartment() : "",
+                1,
+                asset.getGrossCost(),
+                orZero(asset.getAccumulatedDepreciation()),
+                orZero(asset.getSalvageValue()));
+    }
+
+    /**
+     * Add a new asset to the totals of the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void added(FixedAsset asset) {
+        pendingDeltas().add(snapshotOf(asset), 1);
+    }
+
+    /**
+     * Take a deleted asset out of the totals of the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removed(FixedAsset asset) {
+        pendingDeltas().add(snapshotOf(asset), -1);
+    }
+
+    /**
+     * Move a changed asset from its totals before the change to its current totals in the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changed(FixedAssetTotalsRow before, FixedAsset asset) {
+        PendingDeltas pending = pendingDeltas();
+        pending.add(before, -1);
+        pending.add(snapshotOf(asset), 1);
+    }
+
+    /**
+     * Compare the maintained totals with totals recomputed from the assets, in one consistent read
+     */
+    @Transactional(readOnly = true)
+    public FixedAssetTotalsVerificationResponse verify() {
+        return compare(false);
+    }
+
+    /**
+     * Compare the maintained totals with totals recomputed from the assets, and replace them with the latter
+     * if they drifted
+     */
+    public FixedAssetTotalsVerificationResponse repair() {
+        FixedAssetTotalsVerificationResponse response = compare(true);
+        if (response.getRepaired()) {
+            int groups = totalsRepository.rebuild(LocalDateTime.now());
+            log.info("Rebuilt portfolio totals: {} groups", groups);
+        }
+        return response;
+    }
+
+    /**
+     * Nightly verification; drift is logged, not repaired
+     */
+    @Scheduled(cron = "${fixed-assets.totals.verification.cron:0 45 1 * * *}")
+    @Transactional(readOnly = true)
+    public void verifyScheduled() {
+        if (!verificationEnabled) {
+            return;
+        }
+
+        FixedAssetTotalsVerificationResponse response = compare(false);
+        if (response.getDriftCount() == 0) {
+            log.info("Portfolio totals verified: {} groups, no drift", response.getGroupCount());
+            return;
+        }
+
+        log.warn("Portfolio totals drifted in {} of {} groups", response.getDriftCount(), response.getGroupCount());
+        for (FixedAssetTotalsDriftDTO drift : response.getDrifts()) {
+            log.warn("Totals drift in {}/{}/{}: count {}, gross cost {}, accumulated depreciation {}, salvage {}",
+                    drift.getStatus(), drift.getClassId(), drift.getDepartment(), drift.getAssetCountDrift(),
+                    drift.getGrossCostDrift(), drift.getAccumulatedDepreciationDrift(),
+                    drift.getSalvageValueDrift());
+        }
+    }
+
+    private FixedAssetTotalsVerificationResponse compare(boolean repair) {
+        List<FixedAssetTotalsRow> expected = totalsRepository.recomputeFromAssets();
+
+        // Start from the maintained totals and take the recomputed ones out: what is left is drift
+        PendingDeltas difference = new PendingDeltas();
+        totalsRepository.findAll().forEach(row -> difference.add(row, 1));
+        expected.forEach(row -> difference.add(row, -1));
+
+        List<FixedAssetTotalsDriftDTO> drifts = new ArrayList<>();
+        for (FixedAssetTotalsRow row : difference.nonZero()) {
+            drifts.add(new FixedAssetTotalsDriftDTO(row.getStatus(), row.getClassId(), row.getDepartment(),
+                    row.getAssetCount(), row.getGrossCost(), row.getAccumulatedDepreciation(),
+                    row.getSalvageValue()));
+        }
+
+        FixedAssetTotalsVerificationResponse response = new FixedAssetTotalsVerificationResponse();
+        response.setVerifiedAt(LocalDateTime.now());
+        response.setGroupCount(expected.size());
+        response.setDriftCount(drifts.size());
+        response.setRepaired(repair && !drifts.isEmpty());
+        response.setDrifts(drifts);
+        return response;
+    }
+
+    /**
+     * Deltas of the current transaction, registering them to be written before it commits on first use.
+     * They are bound as a transaction resource, looked up in constant time; the synchronization unbinds them
+     * while the transaction is suspended, so that an inner transaction starts its own.
+     */
+    private PendingDeltas pendingDeltas() {
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(PENDING_DELTAS_KEY);
+        if (pending != null) {
+            return pending;
+        }
+
+        pending = new PendingDeltas();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        TransactionSynchronizationManager.bindResource(PENDING_DELTAS_KEY, pending);
+        return pending;
+    }
+
+    private static String groupKey(FixedAssetTotalsRow row) {
+        return row.getStatus() + "|" + row.getClassId() + "|" + row.getDepartment();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * Deltas summed per group; as a transaction synchronization, written to the rollup before the commit
+     */
+    private class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<String, FixedAssetTotalsRow> groups = new LinkedHashMap<>();
+
+        void add(FixedAssetTotalsRow row, int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            FixedAssetTotalsRow group = groups.computeIfAbsent(groupKey(row),
+                    key -> new FixedAssetTotalsRow(row.getStatus(), row.getClassId(), row.getDepartment(), 0,
+                            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+            group.setAssetCount(group.getAssetCount() + sign * row.getAssetCount());
+            group.setGrossCost(group.getGrossCost().add(row.getGrossCost().multiply(factor)));
+            group.setAccumulatedDepreciation(group.getAccumulatedDepreciation()
+                    .add(row.getAccumulatedDepreciation().multiply(factor)));
+            group.setSalvageValue(group.getSalvageValue().add(row.getSalvageValue().multiply(factor)));
+        }
+
+        /**
+         * Groups with a delta, in key order so that concurrent transactions lock the rollup rows in the same order
+         */
+        List<FixedAssetTotalsRow> nonZero() {
+            List<FixedAssetTotalsRow> deltas = new ArrayList<>();
+            for (FixedAssetTotalsRow group : groups.values()) {
+                if (group.getAssetCount() != 0 || group.getGrossCost().signum() != 0
+                        || group.getAccumulatedDepreciation().signum() != 0 || group.getSalvageValue().signum() != 0) {
+                    deltas.add(group);
+                }
+            }
+            deltas.sort(GROUP_ORDER);
+            return deltas;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(PENDING_DELTAS_KEY);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(PENDING_DELTAS_KEY, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<FixedAssetTotalsRow> deltas = nonZero();
+            if (!deltas.isEmpty()) {
+                totalsRepository.applyDeltas(deltas, LocalDateTime.now());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DELTAS_KEY);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.MonthlyUsageRequest;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetMonthlyUsage;
 import com.example.accounts.entity.enums.AssetStatus;
@@ -8,14 +9,23 @@ import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetMonthlyUsageRepository;
 import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.report.AssetsChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Monthly Usage operations
@@ -28,6 +38,8 @@ public class MonthlyUsageService {
 
     private final FixedAssetMonthlyUsageRepository usageRepository;
     private final FixedAssetRepository fixedAssetRepository;
+    private final AssetCommandExecutor assetCommandExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Record monthly usage for an asset
@@ -37,6 +49,61 @@ public class MonthlyUsageService {
 
         FixedAsset asset = findAssetById(assetId);
 
+        // Check if usage already exists for this period
+        if (usageRepository.findByFixedAssetIdAndPeriod(assetId, period).isPresent()) {
+            throw new BusinessException("Usage already recorded for asset " + assetId + " for period " + period);
+        }
+
+        FixedAssetMonthlyUsage saved = usageRepository.save(newUsage(asset, period, unitsUsed, notes));
+
+        log.info("Recorded usage {} for asset {}", saved.getUsageId(), assetId);
+
+        return saved;
+    }
+
+    /**
+     * Record monthly usage for many assets for one period.
+     * Assets and existing usage are loaded with one query each and the records are inserted in JDBC batches.
+     * Either all records are created or, if any of them is invalid, none.
+     */
+    public List<FixedAssetMonthlyUsage> recordUsageBatch(LocalDate period, List<MonthlyUsageRequest> requests) {
+        log.info("Recording usage for {} assets for period {}", requests.size(), period);
+
+        List<Long> assetIds = requests.stream().map(MonthlyUsageRequest::getFixedAssetId).toList();
+        Map<Long, FixedAsset> assetsById = fixedAssetRepository.findAllById(assetIds).stream()
+                .collect(Collectors.toMap(FixedAsset::getFixedAssetId, Function.identity()));
+
+        Set<Long> recordedAssetIds = new HashSet<>();
+        for (Object[] row : usageRepository.findUnitsByPeriod(period)) {
+            recordedAssetIds.add(((Number) row[0]).longValue());
+        }
+
+        List<FixedAssetMonthlyUsage> usages = new ArrayList<>();
+        for (MonthlyUsageRequest request : requests) {
+            Long assetId = request.getFixedAssetId();
+            FixedAsset asset = assetsById.get(assetId);
+            if (asset == null) {
+                throw new ResourceNotFoundException("Fixed asset not found with id: " + assetId);
+            }
+
+            if (!recordedAssetIds.add(assetId)) {
+                throw new BusinessException("Usage already recorded for asset " + assetId + " for period " + period);
+            }
+
+            usages.add(newUsage(asset, period, request.getUnitsUsed(), request.getNotes()));
+        }
+
+        List<FixedAssetMonthlyUsage> saved = usageRepository.saveAll(usages);
+
+        log.info("Recorded {} usage records for period {}", saved.size(), period);
+
+        return saved;
+    }
+
+    /**
+     * Validate the asset and units used, and build an unsaved usage record
+     */
+    private FixedAssetMonthlyUsage newUsage(FixedAsset asset, LocalDate period, Integer unitsUsed, String notes) {
         // Validate asset uses units of production
         if (asset.getDepreciationMethod() != DepreciationMethod.UNITS_OF_PRODUCTION) {
             throw new BusinessException("Asset does not use units of production depreciation method");
@@ -47,11 +114,6 @@ public class MonthlyUsageService {
             throw new BusinessException("Asset must be ACTIVE to record usage. Current status: " + asset.getStatus());
         }
 
-        // Check if usage already exists for this period
-        if (usageRepository.findByFixedAssetIdAndPeriod(assetId, period).isPresent()) {
-            throw new BusinessException("Usage already recorded for asset " + assetId + " for period " + period);
-        }
-
         // Validate units used
         if (unitsUsed == null || unitsUsed <= 0) {
             throw new BusinessException("Units used must be greater than zero");
@@ -71,38 +133,42 @@ public class MonthlyUsageService {
         usage.setUnitsUsed(unitsUsed);
         usage.setNotes(notes);
 
-        FixedAssetMonthlyUsage saved = usageRepository.save(usage);
-
-        log.info("Recorded usage {} for asset {}", saved.getUsageId(), assetId);
-
-        return saved;
+        return usage;
     }
 
     /**
-     * Process usage (mark as ready for depreciation)
+     * Process usage (mark as ready for depreciation).
+     * Runs as a command on the asset: serialized with other commands on it and retried on concurrent changes.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void processUsage(Long usageId) {
         log.info("Processing usage: {}", usageId);
 
-        FixedAssetMonthlyUsage usage = usageRepository.findById(usageId)
+        Long assetId = usageRepository.findFixedAssetIdById(usageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usage not found with id: " + usageId));
 
-        if (usage.getIsProcessed()) {
-            throw new BusinessException("Usage is already processed");
-        }
+        assetCommandExecutor.run(assetId, () -> {
+            FixedAssetMonthlyUsage usage = usageRepository.findById(usageId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Usage not found with id: " + usageId));
 
-        // Update remaining units
-        FixedAsset asset = usage.getFixedAsset();
-        if (asset.getRemainingUnits() != null) {
-            asset.setRemainingUnits(asset.getRemainingUnits() - usage.getUnitsUsed());
-            fixedAssetRepository.save(asset);
-        }
+            if (usage.getIsProcessed()) {
+                throw new BusinessException("Usage is already processed");
+            }
+
+            // Update remaining units
+            FixedAsset asset = usage.getFixedAsset();
+            if (asset.getRemainingUnits() != null) {
+                asset.setRemainingUnits(asset.getRemainingUnits() - usage.getUnitsUsed());
+                fixedAssetRepository.save(asset);
+            }
 
-        // Mark as processed
-        usage.setIsProcessed(true);
-        usage.setProcessedDate(LocalDateTime.now());
+            // Mark as processed
+            usage.setIsProcessed(true);
+            usage.setProcessedDate(LocalDateTime.now());
 
-        usageRepository.save(usage);
+            usageRepository.save(usage);
+            eventPublisher.publishEvent(AssetsChangedEvent.of(assetId));
+        });
 
         log.info("Processed usage: {}", usageId);
     }
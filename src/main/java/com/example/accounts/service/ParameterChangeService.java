@@ -1,20 +1,34 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetParameterChange;
+import com.example.accounts.entity.JournalEntry;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetParameterChangeRepository;
 import com.example.accounts.repository.FixedAssetRepository;
+import com.example.accounts.service.depreciation.AssetScheduleChangedEvent;
+import com.example.accounts.service.depreciation.DepreciationProjector;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.journal.PostingAccounts;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Parameter Changes (Reassessments)
@@ -27,6 +41,17 @@ public class ParameterChangeService {
 
     private final FixedAssetParameterChangeRepository parameterChangeRepository;
     private final FixedAssetRepository fixedAssetRepository;
+    private final JournalWriter journalWriter;
+    private final PostingAccounts postingAccounts;
+    private final EntityManager entityManager;
+    private final AssetCommandExecutor assetCommandExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FixedAssetTotalsService totalsService;
+
+    /**
+     * Journal document type of parameter change postings
+     */
+    private static final String JOURNAL_DOCUMENT_TYPE = "FA_PARAMETER_CHANGE";
 
     /**
      * Create parameter change
@@ -57,45 +82,133 @@ public class ParameterChangeService {
     }
 
     /**
-     * Post parameter change (apply changes to asset)
+     * Post parameter change.
+     * Runs as a command on the asset: serialized with other commands on it and retried on concurrent changes.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void postParameterChange(Long changeId) {
         log.info("Posting parameter change: {}", changeId);
 
-        FixedAssetParameterChange change = parameterChangeRepository.findById(changeId)
+        Long assetId = parameterChangeRepository.findFixedAssetIdById(changeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Parameter change not found with id: " + changeId));
 
-        if (change.getIsPosted()) {
-            throw new BusinessException("Parameter change is already posted");
+        assetCommandExecutor.run(assetId, () -> {
+            FixedAssetParameterChange change = parameterChangeRepository.findById(changeId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Parameter change not found with id: " + changeId));
+
+            post(List.of(change));
+        });
+    }
+
+    /**
+     * Post parameter changes in one go: changes are applied and the journal entries are written in JDBC batches
+     */
+    public int postParameterChanges(List<Long> changeIds) {
+        log.info("Posting {} parameter changes", changeIds.size());
+
+        List<FixedAssetParameterChange> changes = parameterChangeRepository.findAllWithAssetByIdIn(changeIds);
+        Set<Long> found = changes.stream().map(FixedAssetParameterChange::getChangeId).collect(Collectors.toSet());
+        for (Long changeId : changeIds) {
+            if (!found.contains(changeId)) {
+                throw new ResourceNotFoundException("Parameter change not found with id: " + changeId);
+            }
+        }
+
+        post(changes);
+
+        return changes.size();
+    }
+
+    /**
+     * Apply loaded changes to their assets, journal the ones that change values and mark them posted.
+     * Publishes the before and after schedule of each changed asset for the maintained depreciation projection.
+     */
+    private void post(List<FixedAssetParameterChange> changes) {
+        List<JournalDocument> documents = new ArrayList<>(changes.size());
+        for (FixedAssetParameterChange change : changes) {
+            if (change.getIsPosted()) {
+                throw new BusinessException("Parameter change " + change.getChangeId() + " is already posted");
+            }
+
+            FixedAsset asset = change.getFixedAsset();
+            AssetDepreciationSnapshot before = DepreciationProjector.snapshotOf(asset);
+            FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
+
+            // Apply changes based on type
+            switch (change.getChangeType()) {
+                case IMPAIRMENT:
+                    applyImpairment(asset, change);
+                    break;
+                case REVALUATION:
+                    applyRevaluation(asset, change);
+                    break;
+                case USEFUL_LIFE_CHANGE:
+                    applyUsefulLifeChange(asset, change);
+                    break;
+                case SALVAGE_VALUE_CHANGE:
+                    applySalvageValueChange(asset, change);
+                    break;
+            }
+
+            fixedAssetRepository.save(asset);
+            totalsService.changed(totalsBefore, asset);
+            eventPublisher.publishEvent(new AssetScheduleChangedEvent(asset.getFixedAssetId(), before,
+                    DepreciationProjector.snapshotOf(asset)));
+
+            documents.add(toJournalDocument(change));
         }
 
+        List<Long> journalEntryIds = journalWriter.writeAll(documents);
+
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < changes.size(); i++) {
+            FixedAssetParameterChange change = changes.get(i);
+            if (journalEntryIds.get(i) != null) {
+                change.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(i)));
+            }
+            change.setIsPosted(true);
+            change.setPostedDate(postedDate);
+
+            log.debug("Posted parameter change {} for asset {}", change.getChangeId(),
+                    change.getFixedAsset().getFixedAssetId());
+        }
+
+        parameterChangeRepository.saveAll(changes);
+
+        log.info("Posted {} parameter changes", changes.size());
+    }
+
+    /**
+     * Impairment: Dr. Other Expenses, Cr. Impairment of Fixed Assets.
+     * Revaluation: Dr. Fixed Assets at Cost, Cr. Other Reserves.
+     * Useful life and salvage value changes have no amount to journal and produce a document without lines.
+     */
+    private JournalDocument toJournalDocument(FixedAssetParameterChange change) {
         FixedAsset asset = change.getFixedAsset();
+        String description = "Parameter change " + change.getChangeNumber() + " (" + change.getChangeType() + ") - " +
+                asset.getAssetNumber();
+
+        JournalDocument document = new JournalDocument("FAC-" + change.getChangeId(), change.getChangeDate(),
+                JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(change.getChangeNumber());
+        document.setPostedBy(change.getPostedBy());
 
-        // Apply changes based on type
         switch (change.getChangeType()) {
             case IMPAIRMENT:
-                applyImpairment(asset, change);
+                BigDecimal impairment = change.getAdjustmentAmount().negate();
+                document.debit(postingAccounts.otherExpenses(), impairment, description);
+                document.credit(postingAccounts.impairment(), impairment, description);
                 break;
             case REVALUATION:
-                applyRevaluation(asset, change);
-                break;
-            case USEFUL_LIFE_CHANGE:
-                applyUsefulLifeChange(asset, change);
+                document.debit(asset.getGlAccount().getAccountId(), change.getAdjustmentAmount(), description);
+                document.credit(postingAccounts.revaluationReserve(), change.getAdjustmentAmount(), description);
                 break;
-            case SALVAGE_VALUE_CHANGE:
-                applySalvageValueChange(asset, change);
+            default:
                 break;
         }
 
-        fixedAssetRepository.save(asset);
-
-        // Mark change as posted
-        change.setIsPosted(true);
-        change.setPostedDate(LocalDateTime.now());
-
-        parameterChangeRepository.save(change);
-
-        log.info("Posted parameter change {} for asset {}", changeId, asset.getFixedAssetId());
+        return document;
     }
 
     /**
@@ -1,19 +1,31 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetSalePreparation;
+import com.example.accounts.entity.JournalEntry;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetRepository;
 import com.example.accounts.repository.FixedAssetSalePreparationRepository;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.journal.PostingAccounts;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Sale Preparation (Held for Sale)
@@ -26,6 +38,16 @@ public class SalePreparationService {
 
     private final FixedAssetSalePreparationRepository salePreparationRepository;
     private final FixedAssetRepository fixedAssetRepository;
+    private final JournalWriter journalWriter;
+    private final PostingAccounts postingAccounts;
+    private final EntityManager entityManager;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Journal document type of sale preparation postings
+     */
+    private static final String JOURNAL_DOCUMENT_TYPE = "FA_SALE_PREPARATION";
 
     /**
      * Create sale preparation
@@ -53,7 +75,7 @@ public class SalePreparationService {
     }
 
     /**
-     * Post sale preparation (change status to HELD_FOR_SALE)
+     * Post sale preparation (change asset status to HELD_FOR_SALE)
      */
     public void postSalePreparation(Long preparationId) {
         log.info("Posting sale preparation: {}", preparationId);
@@ -62,29 +84,120 @@ public class SalePreparationService {
                 .orElseThrow(
                         () -> new ResourceNotFoundException("Sale preparation not found with id: " + preparationId));
 
-        if (preparation.getIsPosted()) {
-            throw new BusinessException("Sale preparation is already posted");
+        post(List.of(preparation));
+    }
+
+    /**
+     * Post sale preparations in one go: assets are reclassified and the journal entries are written in JDBC batches
+     */
+    public int postSalePreparations(List<Long> preparationIds) {
+        log.info("Posting {} sale preparations", preparationIds.size());
+
+        List<FixedAssetSalePreparation> preparations = salePreparationRepository.findAllWithAssetByIdIn(preparationIds);
+        Set<Long> found = preparations.stream()
+                .map(FixedAssetSalePreparation::getPreparationId)
+                .collect(Collectors.toSet());
+        for (Long preparationId : preparationIds) {
+            if (!found.contains(preparationId)) {
+                throw new ResourceNotFoundException("Sale preparation not found with id: " + preparationId);
+            }
         }
 
-        FixedAsset asset = preparation.getFixedAsset();
+        post(preparations);
 
-        // Change status to HELD_FOR_SALE
-        asset.setStatus(AssetStatus.HELD_FOR_SALE);
+        return preparations.size();
+    }
 
-        fixedAssetRepository.save(asset);
+    /**
+     * Reclassify the assets of loaded preparations as held for sale, journal them and mark them posted
+     */
+    private void post(List<FixedAssetSalePreparation> preparations) {
+        List<JournalDocument> documents = new ArrayList<>(preparations.size());
+        for (FixedAssetSalePreparation preparation : preparations) {
+            if (preparation.getIsPosted()) {
+                throw new BusinessException(
+                        "Sale preparation " + preparation.getPreparationId() + " is already posted");
+            }
+
+            documents.add(toJournalDocument(preparation));
+
+            FixedAsset asset = preparation.getFixedAsset();
+            FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
+
+            // Change status to HELD_FOR_SALE
+            asset.setStatus(AssetStatus.HELD_FOR_SALE);
+
+            fixedAssetRepository.save(asset);
+            totalsService.changed(totalsBefore, asset);
+        }
+
+        List<Long> journalEntryIds = journalWriter.writeAll(documents);
+
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < preparations.size(); i++) {
+            FixedAssetSalePreparation preparation = preparations.get(i);
+            if (journalEntryIds.get(i) != null) {
+                preparation.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(i)));
+            }
+            preparation.setIsPosted(true);
+            preparation.setPostedDate(postedDate);
+
+            log.debug("Posted sale preparation {} for asset {}. Asset is now HELD_FOR_SALE",
+                    preparation.getPreparationId(), preparation.getFixedAsset().getFixedAssetId());
+        }
+
+        salePreparationRepository.saveAll(preparations);
+        eventPublisher.publishEvent(new AssetsChangedEvent(preparations.stream()
+                .map(preparation -> preparation.getFixedAsset().getFixedAssetId())
+                .toList()));
 
-        // Mark preparation as posted
-        preparation.setIsPosted(true);
-        preparation.setPostedDate(LocalDateTime.now());
+        log.info("Posted {} sale preparations", preparations.size());
+    }
 
-        salePreparationRepository.save(preparation);
+    /**
+     * Dr. Accumulated Depreciation, Cr. Fixed Assets at Cost, with the net book value moved to Held for Sale
+     */
+    private JournalDocument toJournalDocument(FixedAssetSalePreparation preparation) {
+        FixedAsset asset = preparation.getFixedAsset();
+        String description = "Sale preparation " + preparation.getPreparationNumber() + " - " + asset.getAssetNumber();
+        Long heldForSaleAccountId = postingAccounts.heldForSale(asset.getHeldForSaleGlAccount());
+
+        JournalDocument document = new JournalDocument("FAP-" + preparation.getPreparationId(),
+                preparation.getPreparationDate(), JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(preparation.getPreparationNumber());
+        document.setPostedBy(preparation.getPostedBy());
+        document.debit(asset.getDepreciationGlAccount().getAccountId(), asset.getAccumulatedDepreciation(),
+                description);
+        document.credit(asset.getGlAccount().getAccountId(), asset.getGrossCost(), description);
+        document.balance(heldForSaleAccountId, heldForSaleAccountId, description);
+
+        return document;
+    }
 
-        log.info("Posted sale preparation {} for asset {}. Asset is now HELD_FOR_SALE", preparationId,
-                asset.getFixedAssetId());
+    /**
+     * Reverse of the reclassification: Dr. Fixed Assets at Cost, Cr. Accumulated Depreciation, with the net book
+     * value taken out of Held for Sale. The asset's balances do not move while it is held for sale.
+     */
+    private JournalDocument toReversalDocument(FixedAssetSalePreparation preparation) {
+        FixedAsset asset = preparation.getFixedAsset();
+        String description = "Cancelled sale preparation " + preparation.getPreparationNumber() + " - "
+                + asset.getAssetNumber();
+        Long heldForSaleAccountId = postingAccounts.heldForSale(asset.getHeldForSaleGlAccount());
+
+        JournalDocument document = new JournalDocument("FAP-" + preparation.getPreparationId() + "-R",
+                LocalDate.now(), JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(preparation.getPreparationNumber());
+        document.setPostedBy(preparation.getPostedBy());
+        document.debit(asset.getGlAccount().getAccountId(), asset.getGrossCost(), description);
+        document.credit(asset.getDepreciationGlAccount().getAccountId(), asset.getAccumulatedDepreciation(),
+                description);
+        document.balance(heldForSaleAccountId, heldForSaleAccountId, description);
+
+        return document;
     }
 
     /**
-     * Cancel sale preparation (revert to ACTIVE)
+     * Cancel sale preparation (revert to ACTIVE), reversing its reclassification journal entry if it has one
      */
     public void cancelSalePreparation(Long preparationId) {
         log.info("Cancelling sale preparation: {}", preparationId);
@@ -107,10 +220,19 @@ public class SalePreparationService {
             throw new BusinessException("Asset is not HELD_FOR_SALE, cannot cancel preparation");
         }
 
+        if (preparation.getJournalEntry() != null) {
+            long reversalId = journalWriter.write(toReversalDocument(preparation));
+            log.debug("Reversed the reclassification of sale preparation {} with journal entry {}", preparationId,
+                    reversalId);
+        }
+
         // Revert to ACTIVE
+        FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
         asset.setStatus(AssetStatus.ACTIVE);
 
         fixedAssetRepository.save(asset);
+        totalsService.changed(totalsBefore, asset);
+        eventPublisher.publishEvent(AssetsChangedEvent.of(asset.getFixedAssetId()));
 
         log.info("Cancelled sale preparation {}. Asset {} reverted to ACTIVE", preparationId, asset.getFixedAssetId());
     }
@@ -1,22 +1,33 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetSale;
 import com.example.accounts.entity.FixedAssetSalePreparation;
+import com.example.accounts.entity.JournalEntry;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetRepository;
 import com.example.accounts.repository.FixedAssetSalePreparationRepository;
 import com.example.accounts.repository.FixedAssetSaleRepository;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.journal.PostingAccounts;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Sales (Disposal)
@@ -30,6 +41,16 @@ public class SaleService {
     private final FixedAssetSaleRepository saleRepository;
     private final FixedAssetRepository fixedAssetRepository;
     private final FixedAssetSalePreparationRepository salePreparationRepository;
+    private final JournalWriter journalWriter;
+    private final PostingAccounts postingAccounts;
+    private final EntityManager entityManager;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Journal document type of sale postings
+     */
+    private static final String JOURNAL_DOCUMENT_TYPE = "FA_SALE";
 
     /**
      * Create sale
@@ -74,7 +95,7 @@ public class SaleService {
     }
 
     /**
-     * Post sale (change status to DISPOSED)
+     * Post sale (change asset status to DISPOSED)
      */
     public void postSale(Long saleId) {
         log.info("Posting sale: {}", saleId);
@@ -82,33 +103,101 @@ public class SaleService {
         FixedAssetSale sale = saleRepository.findById(saleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sale not found with id: " + saleId));
 
-        if (sale.getIsPosted()) {
-            throw new BusinessException("Sale is already posted");
+        post(List.of(sale));
+
+        BigDecimal gainLoss = sale.getGainLossOnSale();
+        log.info("Posted sale {} for asset {}. {} on disposal: {}",
+                saleId,
+                sale.getFixedAsset().getFixedAssetId(),
+                gainLoss.signum() >= 0 ? "Gain" : "Loss",
+                gainLoss.abs());
+    }
+
+    /**
+     * Post sales in one go: assets are disposed and the journal entries are written in JDBC batches
+     */
+    public int postSales(List<Long> saleIds) {
+        log.info("Posting {} sales", saleIds.size());
+
+        List<FixedAssetSale> sales = saleRepository.findAllWithAssetByIdIn(saleIds);
+        Set<Long> found = sales.stream().map(FixedAssetSale::getSaleId).collect(Collectors.toSet());
+        for (Long saleId : saleIds) {
+            if (!found.contains(saleId)) {
+                throw new ResourceNotFoundException("Sale not found with id: " + saleId);
+            }
         }
 
-        FixedAsset asset = sale.getFixedAsset();
+        post(sales);
 
-        // Change status to DISPOSED
-        asset.setStatus(AssetStatus.DISPOSED);
-        asset.setDisposalDate(sale.getSaleDate());
+        return sales.size();
+    }
 
-        // Fully depreciate the asset
-        asset.setAccumulatedDepreciation(asset.getGrossCost());
+    /**
+     * Dispose the assets of loaded sales, journal them and mark them posted
+     */
+    private void post(List<FixedAssetSale> sales) {
+        List<JournalDocument> documents = new ArrayList<>(sales.size());
+        for (FixedAssetSale sale : sales) {
+            if (sale.getIsPosted()) {
+                throw new BusinessException("Sale " + sale.getSaleId() + " is already posted");
+            }
 
-        fixedAssetRepository.save(asset);
+            documents.add(toJournalDocument(sale));
 
-        // Mark sale as posted
-        sale.setIsPosted(true);
-        sale.setPostedDate(LocalDateTime.now());
+            FixedAsset asset = sale.getFixedAsset();
+            FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
 
-        saleRepository.save(sale);
+            // Change status to DISPOSED
+            asset.setStatus(AssetStatus.DISPOSED);
+            asset.setDisposalDate(sale.getSaleDate());
 
-        BigDecimal gainLoss = sale.getGainLossOnSale();
-        log.info("Posted sale {} for asset {}. {} on disposal: {}",
-                saleId,
-                asset.getFixedAssetId(),
-                gainLoss.signum() >= 0 ? "Gain" : "Loss",
-                gainLoss.abs());
+            // Fully depreciate the asset
+            asset.setAccumulatedDepreciation(asset.getGrossCost());
+
+            fixedAssetRepository.save(asset);
+            totalsService.changed(totalsBefore, asset);
+        }
+
+        List<Long> journalEntryIds = journalWriter.writeAll(documents);
+
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < sales.size(); i++) {
+            FixedAssetSale sale = sales.get(i);
+            if (journalEntryIds.get(i) != null) {
+                sale.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(i)));
+            }
+            sale.setIsPosted(true);
+            sale.setPostedDate(postedDate);
+
+            log.debug("Posted sale {} for asset {}", sale.getSaleId(), sale.getFixedAsset().getFixedAssetId());
+        }
+
+        saleRepository.saveAll(sales);
+        eventPublisher.publishEvent(new AssetsChangedEvent(sales.stream()
+                .map(sale -> sale.getFixedAsset().getFixedAssetId())
+                .toList()));
+
+        log.info("Posted {} sales", sales.size());
+    }
+
+    /**
+     * Dr. Receivables for the sale price, Cr. Held for Sale for the net book value, with the difference
+     * as gain or loss on disposal (the asset was reclassified to Held for Sale by its sale preparation)
+     */
+    private JournalDocument toJournalDocument(FixedAssetSale sale) {
+        FixedAsset asset = sale.getFixedAsset();
+        String description = "Sale " + sale.getSaleNumber() + " - " + asset.getAssetNumber();
+
+        JournalDocument document = new JournalDocument("FAS-" + sale.getSaleId(), sale.getSaleDate(),
+                JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(sale.getSaleNumber());
+        document.setPostedBy(sale.getPostedBy());
+        document.debit(postingAccounts.receivables(), sale.getSalePrice(), description);
+        document.credit(postingAccounts.heldForSale(asset.getHeldForSaleGlAccount()), sale.getNetBookValueAtSale(),
+                description);
+        document.balance(postingAccounts.otherExpenses(), postingAccounts.otherIncome(), description);
+
+        return document;
     }
 
     /**
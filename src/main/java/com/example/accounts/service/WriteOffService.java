@@ -1,20 +1,31 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.FixedAssetTotalsRow;
 import com.example.accounts.entity.FixedAsset;
 import com.example.accounts.entity.FixedAssetWriteOff;
+import com.example.accounts.entity.JournalEntry;
 import com.example.accounts.entity.enums.AssetStatus;
 import com.example.accounts.exception.BusinessException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.FixedAssetRepository;
 import com.example.accounts.repository.FixedAssetWriteOffRepository;
+import com.example.accounts.service.journal.JournalDocument;
+import com.example.accounts.service.journal.JournalWriter;
+import com.example.accounts.service.journal.PostingAccounts;
+import com.example.accounts.service.report.AssetsChangedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for Fixed Asset Write-Offs
@@ -27,6 +38,16 @@ public class WriteOffService {
 
     private final FixedAssetWriteOffRepository writeOffRepository;
     private final FixedAssetRepository fixedAssetRepository;
+    private final JournalWriter journalWriter;
+    private final PostingAccounts postingAccounts;
+    private final EntityManager entityManager;
+    private final FixedAssetTotalsService totalsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Journal document type of write-off postings
+     */
+    private static final String JOURNAL_DOCUMENT_TYPE = "FA_WRITE_OFF";
 
     /**
      * Create write-off
@@ -66,28 +87,95 @@ public class WriteOffService {
         FixedAssetWriteOff writeOff = writeOffRepository.findById(writeOffId)
                 .orElseThrow(() -> new ResourceNotFoundException("Write-off not found with id: " + writeOffId));
 
-        if (writeOff.getIsPosted()) {
-            throw new BusinessException("Write-off is already posted");
+        post(List.of(writeOff));
+    }
+
+    /**
+     * Post write-offs in one go: assets are written off and the journal entries are written in JDBC batches
+     */
+    public int postWriteOffs(List<Long> writeOffIds) {
+        log.info("Posting {} write-offs", writeOffIds.size());
+
+        List<FixedAssetWriteOff> writeOffs = writeOffRepository.findAllWithAssetByIdIn(writeOffIds);
+        Set<Long> found = writeOffs.stream().map(FixedAssetWriteOff::getWriteOffId).collect(Collectors.toSet());
+        for (Long writeOffId : writeOffIds) {
+            if (!found.contains(writeOffId)) {
+                throw new ResourceNotFoundException("Write-off not found with id: " + writeOffId);
+            }
         }
 
-        FixedAsset asset = writeOff.getFixedAsset();
+        post(writeOffs);
+
+        return writeOffs.size();
+    }
+
+    /**
+     * Write off the assets of loaded write-offs, journal them and mark them posted
+     */
+    private void post(List<FixedAssetWriteOff> writeOffs) {
+        List<JournalDocument> documents = new ArrayList<>(writeOffs.size());
+        for (FixedAssetWriteOff writeOff : writeOffs) {
+            if (writeOff.getIsPosted()) {
+                throw new BusinessException("Write-off " + writeOff.getWriteOffId() + " is already posted");
+            }
+
+            // Journal from the balances recorded at write-off, before the asset is fully depreciated
+            documents.add(toJournalDocument(writeOff));
+
+            FixedAsset asset = writeOff.getFixedAsset();
+            FixedAssetTotalsRow totalsBefore = FixedAssetTotalsService.snapshotOf(asset);
+
+            // Change status to WRITTEN_OFF
+            asset.setStatus(AssetStatus.WRITTEN_OFF);
+            asset.setDisposalDate(writeOff.getWriteOffDate());
+
+            // Fully depreciate the asset (set accumulated depreciation = gross cost)
+            asset.setAccumulatedDepreciation(asset.getGrossCost());
+
+            fixedAssetRepository.save(asset);
+            totalsService.changed(totalsBefore, asset);
+        }
 
-        // Change status to WRITTEN_OFF
-        asset.setStatus(AssetStatus.WRITTEN_OFF);
-        asset.setDisposalDate(writeOff.getWriteOffDate());
+        List<Long> journalEntryIds = journalWriter.writeAll(documents);
 
-        // Fully depreciate the asset (set accumulated depreciation = gross cost)
-        asset.setAccumulatedDepreciation(asset.getGrossCost());
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < writeOffs.size(); i++) {
+            FixedAssetWriteOff writeOff = writeOffs.get(i);
+            if (journalEntryIds.get(i) != null) {
+                writeOff.setJournalEntry(entityManager.getReference(JournalEntry.class, journalEntryIds.get(i)));
+            }
+            writeOff.setIsPosted(true);
+            writeOff.setPostedDate(postedDate);
 
-        fixedAssetRepository.save(asset);
+            log.debug("Posted write-off {} for asset {}", writeOff.getWriteOffId(),
+                    writeOff.getFixedAsset().getFixedAssetId());
+        }
 
-        // Mark write-off as posted
-        writeOff.setIsPosted(true);
-        writeOff.setPostedDate(LocalDateTime.now());
+        writeOffRepository.saveAll(writeOffs);
+        eventPublisher.publishEvent(new AssetsChangedEvent(writeOffs.stream()
+                .map(writeOff -> writeOff.getFixedAsset().getFixedAssetId())
+                .toList()));
 
-        writeOffRepository.save(writeOff);
+        log.info("Posted {} write-offs", writeOffs.size());
+    }
 
-        log.info("Posted write-off {} for asset {}", writeOffId, asset.getFixedAssetId());
+    /**
+     * Dr. Accumulated Depreciation, Cr. Fixed Assets at Cost, with the net book value as loss
+     */
+    private JournalDocument toJournalDocument(FixedAssetWriteOff writeOff) {
+        FixedAsset asset = writeOff.getFixedAsset();
+        String description = "Write-off " + writeOff.getWriteOffNumber() + " - " + asset.getAssetNumber();
+
+        JournalDocument document = new JournalDocument("FAW-" + writeOff.getWriteOffId(), writeOff.getWriteOffDate(),
+                JOURNAL_DOCUMENT_TYPE, description);
+        document.setReferenceNumber(writeOff.getWriteOffNumber());
+        document.setPostedBy(writeOff.getPostedBy());
+        document.debit(asset.getDepreciationGlAccount().getAccountId(), writeOff.getAccumulatedDepreciationAtWriteOff(),
+                description);
+        document.credit(asset.getGlAccount().getAccountId(), writeOff.getGrossCostAtWriteOff(), description);
+        document.balance(postingAccounts.otherExpenses(), postingAccounts.otherIncome(), description);
+
+        return document;
     }
 
     /**
@@ -0,0 +1,32 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.service.report.AssetsChangedEvent;
+
+import java.util.List;
+
+/**
+ * Published when a posted parameter change alters the remaining depreciation schedule of an asset.
+ * Carries the depreciation snapshots of the asset before and after the change, either of them null
+ * when the asset is not active and so has no schedule. It is also an {@link AssetsChangedEvent} of the asset,
+ * so that listeners not interested in the schedule see it as any other change.
+ */
+public class AssetScheduleChangedEvent extends AssetsChangedEvent {
+
+    private final AssetDepreciationSnapshot before;
+    private final AssetDepreciationSnapshot after;
+
+    public AssetScheduleChangedEvent(Long assetId, AssetDepreciationSnapshot before, AssetDepreciationSnapshot after) {
+        super(List.of(assetId));
+        this.before = before;
+        this.after = after;
+    }
+
+    public AssetDepreciationSnapshot getBefore() {
+        return before;
+    }
+
+    public AssetDepreciationSnapshot getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+import com.example.accounts.util.ScaledMoney;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Declining balance: Net Book Value × Factor / Useful Life in Months, switching to straight line
+ * over the remaining life once that is higher
+ */
+@Component
+public class DecliningBalanceStrategy implements DepreciationStrategy {
+
+    private final long factor;
+
+    public DecliningBalanceStrategy(
+            @Value("${fixed-assets.depreciation.declining-balance-factor:2}") BigDecimal factor) {
+        this.factor = ScaledMoney.of(factor);
+    }
+
+    @Override
+    public DepreciationMethod getMethod() {
+        return DepreciationMethod.DECLINING_BALANCE;
+    }
+
+    @Override
+    public void calculate(DepreciationBatch batch, long[] amounts) {
+        long[] salvageValue = batch.salvageValue();
+        long[] netBookValue = batch.netBookValue();
+        int[] usefulLifeMonths = batch.usefulLifeMonths();
+        int[] elapsedMonths = batch.elapsedMonths();
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (usefulLifeMonths[i] <= 0) {
+                batch.reject(i, "Useful life in months is required for declining balance depreciation");
+                continue;
+            }
+            amounts[i] = DepreciationKernel.decliningBalanceMonthly(netBookValue[i], salvageValue[i],
+                    usefulLifeMonths[i], elapsedMonths[i], factor);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.util.ScaledMoney;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Columnar inputs of one period's depreciation for a batch of assets, for a {@link DepreciationStrategy}.
+ * Row i of every column describes the same asset; amounts are scaled longs (see {@link ScaledMoney}).
+ * Strategies read the columns directly and reject the rows they cannot calculate.
+ */
+public final class DepreciationBatch {
+
+    private final long[] grossCost;
+    private final long[] salvageValue;
+    private final long[] netBookValue;
+    private final int[] usefulLifeMonths;
+    private final int[] totalUnits;
+    private final int[] unitsUsed;
+    private final int[] elapsedMonths;
+    private final String[] rejections;
+    private int size;
+
+    public DepreciationBatch(int capacity) {
+        grossCost = new long[capacity];
+        salvageValue = new long[capacity];
+        netBookValue = new long[capacity];
+        usefulLifeMonths = new int[capacity];
+        totalUnits = new int[capacity];
+        unitsUsed = new int[capacity];
+        elapsedMonths = new int[capacity];
+        rejections = new String[capacity];
+    }
+
+    /**
+     * Add an asset and return its row. A missing useful life or total units is added as 0.
+     */
+    public int add(long grossCost, long salvageValue, long netBookValue, Integer usefulLifeMonths,
+            Integer totalUnits, int unitsUsed, int elapsedMonths) {
+        int row = size++;
+        this.grossCost[row] = grossCost;
+        this.salvageValue[row] = salvageValue;
+        this.netBookValue[row] = netBookValue;
+        this.usefulLifeMonths[row] = usefulLifeMonths != null ? usefulLifeMonths : 0;
+        this.totalUnits[row] = totalUnits != null ? totalUnits : 0;
+        this.unitsUsed[row] = unitsUsed;
+        this.elapsedMonths[row] = elapsedMonths;
+        return row;
+    }
+
+    /**
+     * Remove all rows, so the batch can be filled again
+     */
+    public void clear() {
+        Arrays.fill(rejections, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Months between the month depreciation starts and the period, i.e. months of useful life used before it
+     */
+    public static int elapsedMonths(LocalDate depreciationStartDate, LocalDate period) {
+        return (period.getYear() - depreciationStartDate.getYear()) * 12
+                + period.getMonthValue() - depreciationStartDate.getMonthValue();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] grossCost() {
+        return grossCost;
+    }
+
+    public long[] salvageValue() {
+        return salvageValue;
+    }
+
+    public long[] netBookValue() {
+        return netBookValue;
+    }
+
+    public int[] usefulLifeMonths() {
+        return usefulLifeMonths;
+    }
+
+    public int[] totalUnits() {
+        return totalUnits;
+    }
+
+    public int[] unitsUsed() {
+        return unitsUsed;
+    }
+
+    public int[] elapsedMonths() {
+        return elapsedMonths;
+    }
+
+    /**
+     * Mark a row as not calculable; its amount is ignored
+     */
+    public void reject(int row, String reason) {
+        rejections[row] = reason;
+    }
+
+    public boolean isRejected(int row) {
+        return rejections[row] != null;
+    }
+
+    public String getRejection(int row) {
+        return rejections[row];
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.FixedAssetDepreciation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of depreciating a chunk of assets for one period: the created records, the assets that failed
+ * with their reason, and the units of production assets skipped for lack of processed usage
+ * (those are recorded in the usage snapshot as well)
+ */
+public class DepreciationChunkResult {
+
+    private final List<FixedAssetDepreciation> depreciations = new ArrayList<>();
+    private final Map<Long, String> failures = new LinkedHashMap<>();
+    private final List<Long> unavailableUsageAssetIds = new ArrayList<>();
+
+    public List<FixedAssetDepreciation> getDepreciations() {
+        return depreciations;
+    }
+
+    public Map<Long, String> getFailures() {
+        return failures;
+    }
+
+    public List<Long> getUnavailableUsageAssetIds() {
+        return unavailableUsageAssetIds;
+    }
+
+    public int getSuccessCount() {
+        return depreciations.size();
+    }
+
+    public int getErrorCount() {
+        return failures.size() + unavailableUsageAssetIds.size();
+    }
+
+    public BigDecimal getTotalAmount() {
+        return depreciations.stream()
+                .map(FixedAssetDepreciation::getDepreciationAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.util.ScaledMoney;
+
+/**
+ * Monthly depreciation amounts on scaled longs (see {@link ScaledMoney}).
+ * Used by batch runs, previews and forecasts that calculate many asset-months; results are identical
+ * to the BigDecimal formulas with scale-4 HALF_UP division.
+ */
+public final class DepreciationKernel {
+
+    private DepreciationKernel() {
+    }
+
+    /**
+     * Straight line: (Gross Cost - Salvage Value) / Useful Life in Months
+     */
+    public static long straightLineMonthly(long grossCost, long salvageValue, int usefulLifeMonths) {
+        return ScaledMoney.divide(ScaledMoney.subtract(grossCost, salvageValue), usefulLifeMonths);
+    }
+
+    /**
+     * Units of production rate: (Gross Cost - Salvage Value) / Total Units
+     */
+    public static long depreciationPerUnit(long grossCost, long salvageValue, int totalUnits) {
+        return ScaledMoney.divide(ScaledMoney.subtract(grossCost, salvageValue), totalUnits);
+    }
+
+    /**
+     * Units of production: depreciation per unit × units used
+     */
+    public static long unitsOfProduction(long depreciationPerUnit, int unitsUsed) {
+        return ScaledMoney.multiply(depreciationPerUnit, unitsUsed);
+    }
+
+    /**
+     * Declining balance: Net Book Value × Factor / Useful Life in Months, switching to straight line over the
+     * remaining life once that is higher. The factor is scaled like money, so {@link ScaledMoney#ONE} × 2 is
+     * double declining balance. The last month of the useful life takes whatever is left above salvage value.
+     */
+    public static long decliningBalanceMonthly(long netBookValue, long salvageValue, int usefulLifeMonths,
+            int elapsedMonths, long factor) {
+        long depreciable = ScaledMoney.subtract(netBookValue, salvageValue);
+        int remainingMonths = usefulLifeMonths - elapsedMonths;
+        if (remainingMonths <= 1) {
+            return depreciable;
+        }
+
+        long declining = ScaledMoney.divide(ScaledMoney.multiply(netBookValue, factor),
+                Math.multiplyExact(usefulLifeMonths, ScaledMoney.ONE));
+        long straightLine = ScaledMoney.divide(depreciable, remainingMonths);
+        return Math.max(declining, straightLine);
+    }
+
+    /**
+     * Sum of the years' digits: (Gross Cost - Salvage Value) × Remaining Years / Sum of Years / 12,
+     * with the useful life rounded up to whole years. The last month of the useful life takes whatever
+     * is left above salvage value.
+     */
+    public static long sumOfYearsDigitsMonthly(long grossCost, long salvageValue, long netBookValue,
+            int usefulLifeMonths, int elapsedMonths) {
+        if (usefulLifeMonths - elapsedMonths <= 1) {
+            return ScaledMoney.subtract(netBookValue, salvageValue);
+        }
+
+        long lifeYears = (usefulLifeMonths + 11) / 12;
+        long remainingYears = lifeYears - elapsedMonths / 12;
+        long sumOfYears = lifeYears * (lifeYears + 1) / 2;
+        return ScaledMoney.divide(ScaledMoney.multiply(ScaledMoney.subtract(grossCost, salvageValue), remainingYears),
+                sumOfYears * 12);
+    }
+
+    /**
+     * Cap a monthly amount so that net book value never drops below salvage value
+     */
+    public static long capAtSalvage(long amount, long netBookValue, long salvageValue) {
+        return Math.min(amount, ScaledMoney.subtract(netBookValue, salvageValue));
+    }
+}
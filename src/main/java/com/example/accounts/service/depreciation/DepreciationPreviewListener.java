@@ -0,0 +1,25 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+
+/**
+ * Receives the outcome of each asset of a depreciation preview. Amounts are scaled longs (see ScaledMoney).
+ */
+public interface DepreciationPreviewListener {
+
+    /**
+     * An asset the run would depreciate by the amount, from its net book value before the period
+     */
+    void onCalculated(AssetDepreciationSnapshot asset, long amount, long netBookValue, long salvageValue);
+
+    /**
+     * An asset the run would reject
+     */
+    void onRejected(AssetDepreciationSnapshot asset, String reason);
+
+    /**
+     * A units of production asset without processed usage for the period; the usage snapshot records it
+     */
+    default void onUsageUnavailable(AssetDepreciationSnapshot asset) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.dto.AssetDepreciationSnapshot;
+import com.example.accounts.entity.FixedAsset;
+import com.example.accounts.entity.enums.AssetStatus;
+import com.example.accounts.entity.enums.DepreciationMethod;
+import com.example.accounts.util.LongIntMap;
+import com.example.accounts.util.ScaledMoney;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Projects the future monthly depreciation of one asset from its depreciation snapshot.
+ * Shared by the forecast, which projects every active asset, and the maintained projection,
+ * which re-projects a single asset after its parameters change.
+ */
+@Component
+public class DepreciationProjector {
+
+    private final DepreciationStrategies depreciationStrategies;
+
+    public DepreciationProjector(DepreciationStrategies depreciationStrategies) {
+        this.depreciationStrategies = depreciationStrategies;
+    }
+
+    /**
+     * Receives the projected amount of one month, by index into the projection window
+     */
+    @FunctionalInterface
+    public interface MonthConsumer {
+        void accept(int monthIndex, long amount);
+    }
+
+    /**
+     * Roll one asset forward month by month from its first undepreciated period, passing the months that fall
+     * inside the window of months starting with firstPeriod to the consumer.
+     * Every month is calculated by the method's strategy, as the run would post it, from the net book value
+     * left by the months before; methods using units are projected at the asset's average processed monthly
+     * usage, up to its remaining units. Stops once the strategy rejects the asset or has nothing left to
+     * depreciate above salvage value.
+     */
+    public void project(AssetDepreciationSnapshot asset, LocalDate firstPeriod, int months,
+            LongIntMap averageUnits, MonthConsumer consumer) {
+        long grossCost = ScaledMoney.add(ScaledMoney.of(asset.getInitialCost()),
+                ScaledMoney.of(asset.getCostAdjustment()));
+        long salvageValue = ScaledMoney.of(asset.getSalvageValue());
+        long netBookValue = ScaledMoney.subtract(grossCost, ScaledMoney.of(asset.getAccumulatedDepreciation()));
+
+        LocalDate period = firstMissingPeriod(asset);
+        DepreciationMethod method = asset.getDepreciationMethod();
+        if (period == null || asset.getDepreciationStartDate() == null || netBookValue <= salvageValue
+                || method == null) {
+            return;
+        }
+
+        DepreciationStrategy strategy = depreciationStrategies.get(method);
+        int monthlyUnits = strategy.usesUnits() ? averageUnits.get(asset.getFixedAssetId(), 0) : 0;
+        int remainingUnits = asset.getRemainingUnits() != null ? asset.getRemainingUnits() : Integer.MAX_VALUE;
+
+        DepreciationBatch batch = new DepreciationBatch(1);
+        long[] amount = new long[1];
+        LocalDate lastPeriod = firstPeriod.plusMonths(months - 1).with(TemporalAdjusters.lastDayOfMonth());
+
+        while (!period.isAfter(lastPeriod) && netBookValue > salvageValue) {
+            int units = 0;
+            if (strategy.usesUnits()) {
+                units = Math.min(monthlyUnits, remainingUnits);
+                if (units <= 0) {
+                    return;
+                }
+                remainingUnits -= units;
+            }
+
+            batch.clear();
+            batch.add(grossCost, salvageValue, netBookValue, asset.getUsefulLifeMonths(), asset.getTotalUnits(),
+                    units, DepreciationBatch.elapsedMonths(asset.getDepreciationStartDate(), period));
+            depreciationStrategies.calculate(method, batch, amount);
+            if (batch.isRejected(0) || amount[0] <= 0) {
+                return;
+            }
+            netBookValue -= amount[0];
+
+            int index = monthIndex(firstPeriod, period);
+            if (index >= 0) {
+                consumer.accept(index, amount[0]);
+            }
+
+            period = period.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+        }
+    }
+
+    /**
+     * Depreciation snapshot of a loaded asset, or null if the asset is not active and so not projected
+     */
+    public static AssetDepreciationSnapshot snapshotOf(FixedAsset asset) {
+        if (asset.getStatus() != AssetStatus.ACTIVE) {
+            return null;
+        }
+        return new AssetDepreciationSnapshot(asset.getFixedAssetId(), asset.getAssetNumber(), asset.getDepartment(),
+                asset.getAssetClass() != null ? asset.getAssetClass().getDescription() : null,
+                asset.getDepreciationMethod(), asset.getInitialCost(), asset.getCostAdjustment(),
+                asset.getAccumulatedDepreciation(), asset.getSalvageValue(), asset.getUsefulLifeMonths(),
+                asset.getTotalUnits(), asset.getRemainingUnits(), asset.getDepreciationStartDate(),
+                asset.getLastDepreciationDate());
+    }
+
+    /**
+     * Index of a month-end period in a window starting with firstPeriod
+     */
+    public static int monthIndex(LocalDate firstPeriod, LocalDate period) {
+        return (period.getYear() - firstPeriod.getYear()) * 12 + period.getMonthValue() - firstPeriod.getMonthValue();
+    }
+
+    /**
+     * First month-end period the asset has not been depreciated for
+     */
+    private static LocalDate firstMissingPeriod(AssetDepreciationSnapshot asset) {
+        if (asset.getLastDepreciationDate() != null) {
+            return asset.getLastDepreciationDate().plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+        }
+        if (asset.getDepreciationStartDate() != null) {
+            return asset.getDepreciationStartDate().with(TemporalAdjusters.lastDayOfMonth());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.FixedAssetDepreciationRun;
+
+/**
+ * Callback of a registered depreciation run, used to follow its progress and to stop it between chunks
+ */
+public interface DepreciationRunListener {
+
+    DepreciationRunListener NONE = new DepreciationRunListener() {
+    };
+
+    /**
+     * Called with the run counters and checkpoint after each committed chunk
+     */
+    default void onChunkCompleted(FixedAssetDepreciationRun run) {
+    }
+
+    /**
+     * Checked before each chunk; returning true stops the run as CANCELLED
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
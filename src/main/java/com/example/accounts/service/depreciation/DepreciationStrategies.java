@@ -0,0 +1,67 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+import com.example.accounts.exception.BusinessException;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the {@link DepreciationStrategy} beans by depreciation method
+ */
+@Component
+public class DepreciationStrategies {
+
+    private final Map<DepreciationMethod, DepreciationStrategy> strategies = new EnumMap<>(DepreciationMethod.class);
+
+    public DepreciationStrategies(List<DepreciationStrategy> strategies) {
+        for (DepreciationStrategy strategy : strategies) {
+            DepreciationStrategy previous = this.strategies.put(strategy.getMethod(), strategy);
+            if (previous != null) {
+                throw new IllegalStateException("Two depreciation strategies for method " + strategy.getMethod()
+                        + ": " + previous.getClass().getName() + " and " + strategy.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Get the strategy of a depreciation method
+     */
+    public DepreciationStrategy get(DepreciationMethod method) {
+        if (method == null) {
+            throw new BusinessException("Depreciation method is not set");
+        }
+
+        DepreciationStrategy strategy = strategies.get(method);
+        if (strategy == null) {
+            throw new BusinessException("No depreciation strategy for method " + method);
+        }
+        return strategy;
+    }
+
+    /**
+     * Calculate the monthly amounts of a batch of assets of one method, capped so that net book value never
+     * drops below salvage value. Check {@link DepreciationBatch#isRejected(int)} before using an amount.
+     */
+    public long[] calculate(DepreciationMethod method, DepreciationBatch batch) {
+        long[] amounts = new long[batch.size()];
+        calculate(method, batch, amounts);
+        return amounts;
+    }
+
+    /**
+     * Calculate the capped monthly amounts of a batch into an array of at least the batch size,
+     * for callers that calculate many small batches
+     */
+    public void calculate(DepreciationMethod method, DepreciationBatch batch, long[] amounts) {
+        get(method).calculate(batch, amounts);
+
+        long[] netBookValue = batch.netBookValue();
+        long[] salvageValue = batch.salvageValue();
+        for (int i = 0; i < batch.size(); i++) {
+            amounts[i] = DepreciationKernel.capAtSalvage(amounts[i], netBookValue[i], salvageValue[i]);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+
+/**
+ * Calculation of one depreciation method over a whole batch of assets.
+ * Implementations are Spring beans collected by {@link DepreciationStrategies}; adding a method means adding
+ * a {@link DepreciationMethod} value and a strategy for it.
+ */
+public interface DepreciationStrategy {
+
+    DepreciationMethod getMethod();
+
+    /**
+     * Whether the method needs the units used in the period; only then is usage looked up for its assets
+     */
+    default boolean usesUnits() {
+        return false;
+    }
+
+    /**
+     * Write the monthly amount of every row of the batch to the same index of amounts, and reject the rows
+     * that lack inputs the method needs. Amounts need not be capped at salvage value.
+     */
+    void calculate(DepreciationBatch batch, long[] amounts);
+}
@@ -0,0 +1,133 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.dto.DepreciationForecastLineDTO;
+import com.example.accounts.dto.DepreciationForecastResponse;
+import com.example.accounts.util.ScaledMoney;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Projected depreciation amounts and number of depreciating assets per month, by department and class,
+ * over a window of months starting with a first period. Not thread-safe.
+ */
+public class ForecastBuckets {
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final LocalDate firstPeriod;
+    private final int months;
+    private final Map<String, Group> groups = new HashMap<>();
+
+    public ForecastBuckets(LocalDate firstPeriod, int months) {
+        this.firstPeriod = firstPeriod;
+        this.months = months;
+    }
+
+    public LocalDate getFirstPeriod() {
+        return firstPeriod;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public Group group(String department, String className) {
+        return groups.computeIfAbsent(department + "|" + className,
+                key -> new Group(department, className, months));
+    }
+
+    public void merge(ForecastBuckets other) {
+        other.groups.forEach((key, otherGroup) -> groups
+                .computeIfAbsent(key, k -> new Group(otherGroup.department, otherGroup.className, months))
+                .merge(otherGroup));
+    }
+
+    /**
+     * Forecast response of the first months of the window, one line per period, department and class
+     * with depreciating assets
+     */
+    public DepreciationForecastResponse toResponse(int responseMonths) {
+        List<DepreciationForecastLineDTO> lines = new ArrayList<>();
+        Map<LocalDate, BigDecimal> totalsByPeriod = new TreeMap<>();
+        BigDecimal totalProjected = BigDecimal.ZERO;
+
+        for (int i = 0; i < responseMonths; i++) {
+            totalsByPeriod.put(firstPeriod.plusMonths(i).with(TemporalAdjusters.lastDayOfMonth()), BigDecimal.ZERO);
+        }
+
+        for (Group group : groups.values()) {
+            for (int i = 0; i < responseMonths; i++) {
+                if (group.assetCounts[i] == 0) {
+                    continue;
+                }
+
+                LocalDate period = firstPeriod.plusMonths(i).with(TemporalAdjusters.lastDayOfMonth());
+                BigDecimal amount = ScaledMoney.toBigDecimal(group.amounts[i]);
+                lines.add(new DepreciationForecastLineDTO(period, group.department, group.className,
+                        group.assetCounts[i], amount));
+                totalsByPeriod.merge(period, amount, BigDecimal::add);
+                totalProjected = totalProjected.add(amount);
+            }
+        }
+
+        lines.sort(Comparator.comparing(DepreciationForecastLineDTO::getPeriod)
+                .thenComparing(DepreciationForecastLineDTO::getDepartment, NULLS_FIRST)
+                .thenComparing(DepreciationForecastLineDTO::getClassName, NULLS_FIRST));
+
+        DepreciationForecastResponse response = new DepreciationForecastResponse();
+        response.setFirstPeriod(firstPeriod);
+        response.setLastPeriod(firstPeriod.plusMonths(responseMonths - 1).with(TemporalAdjusters.lastDayOfMonth()));
+        response.setMonths(responseMonths);
+        response.setTotalProjectedDepreciation(totalProjected);
+        response.setTotalsByPeriod(totalsByPeriod);
+        response.setLines(lines);
+
+        return response;
+    }
+
+    /**
+     * Projected amount and number of depreciating assets per month for one department and class
+     */
+    public static class Group {
+
+        private final String department;
+        private final String className;
+        private final long[] amounts;
+        private final int[] assetCounts;
+
+        Group(String department, String className, int months) {
+            this.department = department;
+            this.className = className;
+            this.amounts = new long[months];
+            this.assetCounts = new int[months];
+        }
+
+        public void add(int month, long amount) {
+            amounts[month] += amount;
+            assetCounts[month]++;
+        }
+
+        /**
+         * Take back a month previously added with the same amount
+         */
+        public void remove(int month, long amount) {
+            amounts[month] -= amount;
+            assetCounts[month]--;
+        }
+
+        void merge(Group other) {
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] += other.amounts[i];
+                assetCounts[i] += other.assetCounts[i];
+            }
+        }
+    }
+}
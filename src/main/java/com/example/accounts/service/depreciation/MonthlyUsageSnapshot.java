@@ -0,0 +1,109 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.util.LongIntMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Monthly usage of all assets for one period, loaded once for a batch depreciation run.
+ * Units of production assets look up their units here instead of querying usage one asset at a time.
+ * Assets whose usage is missing or not processed yet are collected and reported together at the end of the run.
+ * Lookups may be made from several worker threads at once.
+ */
+public class MonthlyUsageSnapshot {
+
+    private static final int NOT_FOUND = Integer.MIN_VALUE;
+    private static final int NOT_PROCESSED = -1;
+    private static final int MAX_REPORTED_ASSET_IDS = 20;
+
+    private final LocalDate period;
+    private final LongIntMap unitsByAssetId;
+    private final Set<Long> missingAssetIds = new ConcurrentSkipListSet<>();
+    private final Set<Long> unprocessedAssetIds = new ConcurrentSkipListSet<>();
+
+    private MonthlyUsageSnapshot(LocalDate period, LongIntMap unitsByAssetId) {
+        this.period = period;
+        this.unitsByAssetId = unitsByAssetId;
+    }
+
+    /**
+     * Build from rows of (fixed asset id, units used, is processed)
+     */
+    public static MonthlyUsageSnapshot of(LocalDate period, List<Object[]> usageRows) {
+        LongIntMap unitsByAssetId = new LongIntMap(usageRows.size());
+
+        for (Object[] row : usageRows) {
+            long assetId = ((Number) row[0]).longValue();
+            int unitsUsed = ((Number) row[1]).intValue();
+            boolean processed = Boolean.TRUE.equals(row[2]);
+            unitsByAssetId.put(assetId, processed ? unitsUsed : NOT_PROCESSED);
+        }
+
+        return new MonthlyUsageSnapshot(period, unitsByAssetId);
+    }
+
+    public LocalDate getPeriod() {
+        return period;
+    }
+
+    /**
+     * Processed units used by an asset in the period. Returns -1 and records the asset
+     * when its usage is missing or not processed yet.
+     */
+    public int unitsUsed(long assetId) {
+        int units = unitsByAssetId.get(assetId, NOT_FOUND);
+
+        if (units == NOT_FOUND) {
+            missingAssetIds.add(assetId);
+            return -1;
+        }
+        if (units == NOT_PROCESSED) {
+            unprocessedAssetIds.add(assetId);
+            return -1;
+        }
+
+        return units;
+    }
+
+    /**
+     * Describe why an asset recorded by {@link #unitsUsed(long)} could not be depreciated
+     */
+    public String describeUnavailableUsage(long assetId) {
+        if (unprocessedAssetIds.contains(assetId)) {
+            return "Monthly usage for period " + period + " has not been processed yet";
+        }
+        return "Monthly usage not found for asset " + assetId + " for period " + period;
+    }
+
+    public int getUnavailableCount() {
+        return missingAssetIds.size() + unprocessedAssetIds.size();
+    }
+
+    /**
+     * One summary line per kind of unavailable usage, listing the affected asset ids
+     */
+    public List<String> summarizeUnavailableUsage() {
+        List<String> summary = new ArrayList<>();
+
+        if (!missingAssetIds.isEmpty()) {
+            summary.add("Monthly usage not found for period " + period + " for " + missingAssetIds.size()
+                    + " assets: " + listAssetIds(missingAssetIds));
+        }
+        if (!unprocessedAssetIds.isEmpty()) {
+            summary.add("Monthly usage for period " + period + " has not been processed yet for "
+                    + unprocessedAssetIds.size() + " assets: " + listAssetIds(unprocessedAssetIds));
+        }
+
+        return summary;
+    }
+
+    private String listAssetIds(Set<Long> assetIds) {
+        List<Long> shown = assetIds.stream().limit(MAX_REPORTED_ASSET_IDS).toList();
+        String list = shown.toString();
+        return assetIds.size() > shown.size() ? list + " and " + (assetIds.size() - shown.size()) + " more" : list;
+    }
+}
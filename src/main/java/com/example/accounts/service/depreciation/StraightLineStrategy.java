@@ -0,0 +1,31 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Straight line: (Gross Cost - Salvage Value) / Useful Life in Months
+ */
+@Component
+public class StraightLineStrategy implements DepreciationStrategy {
+
+    @Override
+    public DepreciationMethod getMethod() {
+        return DepreciationMethod.STRAIGHT_LINE;
+    }
+
+    @Override
+    public void calculate(DepreciationBatch batch, long[] amounts) {
+        long[] grossCost = batch.grossCost();
+        long[] salvageValue = batch.salvageValue();
+        int[] usefulLifeMonths = batch.usefulLifeMonths();
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (usefulLifeMonths[i] <= 0) {
+                batch.reject(i, "Useful life in months is required for straight line depreciation");
+                continue;
+            }
+            amounts[i] = DepreciationKernel.straightLineMonthly(grossCost[i], salvageValue[i], usefulLifeMonths[i]);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sum of the years' digits: (Gross Cost - Salvage Value) × Remaining Years / Sum of Years / 12
+ */
+@Component
+public class SumOfYearsDigitsStrategy implements DepreciationStrategy {
+
+    @Override
+    public DepreciationMethod getMethod() {
+        return DepreciationMethod.SUM_OF_YEARS_DIGITS;
+    }
+
+    @Override
+    public void calculate(DepreciationBatch batch, long[] amounts) {
+        long[] grossCost = batch.grossCost();
+        long[] salvageValue = batch.salvageValue();
+        long[] netBookValue = batch.netBookValue();
+        int[] usefulLifeMonths = batch.usefulLifeMonths();
+        int[] elapsedMonths = batch.elapsedMonths();
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (usefulLifeMonths[i] <= 0) {
+                batch.reject(i, "Useful life in months is required for sum of the years' digits depreciation");
+                continue;
+            }
+            amounts[i] = DepreciationKernel.sumOfYearsDigitsMonthly(grossCost[i], salvageValue[i], netBookValue[i],
+                    usefulLifeMonths[i], elapsedMonths[i]);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.accounts.service.depreciation;
+
+import com.example.accounts.entity.enums.DepreciationMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Units of production: (Gross Cost - Salvage Value) / Total Units × Units Used
+ */
+@Component
+public class UnitsOfProductionStrategy implements DepreciationStrategy {
+
+    @Override
+    public DepreciationMethod getMethod() {
+        return DepreciationMethod.UNITS_OF_PRODUCTION;
+    }
+
+    @Override
+    public boolean usesUnits() {
+        return true;
+    }
+
+    @Override
+    public void calculate(DepreciationBatch batch, long[] amounts) {
+        long[] grossCost = batch.grossCost();
+        long[] salvageValue = batch.salvageValue();
+        int[] totalUnits = batch.totalUnits();
+        int[] unitsUsed = batch.unitsUsed();
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (totalUnits[i] <= 0) {
+                batch.reject(i, "Total units is required for units of production depreciation");
+                continue;
+            }
+            long depreciationPerUnit = DepreciationKernel.depreciationPerUnit(grossCost[i], salvageValue[i],
+                    totalUnits[i]);
+            amounts[i] = DepreciationKernel.unitsOfProduction(depreciationPerUnit, unitsUsed[i]);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.accounts.service.journal;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal entry header and lines to be written by {@link JournalWriter}.
+ * Amounts are rounded to the 2 decimals of the journal tables when lines are added; lines that round to zero
+ * are left out, so a document without any amount to journal ends up without lines.
+ */
+@Data
+@NoArgsConstructor
+public class JournalDocument {
+
+    private String entryNumber;
+    private LocalDate entryDate;
+    private String documentType;
+    private String description;
+    private String referenceNumber;
+    private String postedBy;
+    private List<JournalDocumentLine> lines = new ArrayList<>();
+
+    public JournalDocument(String entryNumber, LocalDate entryDate, String documentType, String description) {
+        this.entryNumber = entryNumber;
+        this.entryDate = entryDate;
+        this.documentType = documentType;
+        this.description = description;
+    }
+
+    /**
+     * Add a debit line
+     */
+    public void debit(Long accountId, BigDecimal amount, String lineDescription) {
+        BigDecimal rounded = round(amount);
+        if (rounded.signum() != 0) {
+            lines.add(new JournalDocumentLine(accountId, rounded, BigDecimal.ZERO, lineDescription));
+        }
+    }
+
+    /**
+     * Add a credit line
+     */
+    public void credit(Long accountId, BigDecimal amount, String lineDescription) {
+        BigDecimal rounded = round(amount);
+        if (rounded.signum() != 0) {
+            lines.add(new JournalDocumentLine(accountId, BigDecimal.ZERO, rounded, lineDescription));
+        }
+    }
+
+    /**
+     * Balance the document with a single line: a credit to creditAccountId when debits exceed credits
+     * (e.g. a gain), a debit to debitAccountId when credits exceed debits (e.g. a loss)
+     */
+    public void balance(Long debitAccountId, Long creditAccountId, String lineDescription) {
+        BigDecimal difference = getTotalDebit().subtract(getTotalCredit());
+        if (difference.signum() > 0) {
+            credit(creditAccountId, difference, lineDescription);
+        } else if (difference.signum() < 0) {
+            debit(debitAccountId, difference.negate(), lineDescription);
+        }
+    }
+
+    public BigDecimal getTotalDebit() {
+        return lines.stream().map(JournalDocumentLine::getDebitAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public BigDecimal getTotalCredit() {
+        return lines.stream().map(JournalDocumentLine::getCreditAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal round(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.accounts.service.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a journal entry to be written by {@link JournalWriter}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalDocumentLine {
+
+    private Long accountId;
+    private BigDecimal debitAmount;
+    private BigDecimal creditAmount;
+    private String description;
+}
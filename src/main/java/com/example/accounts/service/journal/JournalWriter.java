@@ -0,0 +1,156 @@
+package com.example.accounts.service.journal;
+
+import com.example.accounts.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes posted journal entries straight into journal_entries and journal_entry_lines with JDBC,
+ * joining the caller's transaction. Documents are buffered and written in chunks of
+ * fixed-assets.journal.batch-size: one batched header insert, one id lookup by entry number
+ * and one batched line insert per chunk, however many documents are posted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JournalWriter {
+
+    public static final String STATUS_POSTED = "POSTED";
+
+    private static final String INSERT_ENTRY = "INSERT INTO journal_entries (" +
+            "entry_number, entry_date, document_type, description, reference_number, total_debit, total_credit, " +
+            "status, posted_date, posted_by, created_at, updated_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LINE = "INSERT INTO journal_entry_lines (" +
+            "journal_entry_id, line_number, account_id, debit_amount, credit_amount, description) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${fixed-assets.journal.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Write a balanced journal entry as posted and return its id
+     */
+    public long write(JournalDocument document) {
+        if (document.getLines().isEmpty()) {
+            throw new BusinessException("Journal entry " + document.getEntryNumber() + " has no lines");
+        }
+
+        return writeAll(Collections.singletonList(document)).get(0);
+    }
+
+    /**
+     * Write balanced journal entries as posted and return their ids in document order.
+     * Documents without lines have nothing to journal; they are skipped and get a null id.
+     */
+    public List<Long> writeAll(List<JournalDocument> documents) {
+        List<Long> journalEntryIds = new ArrayList<>(Collections.nCopies(documents.size(), (Long) null));
+
+        List<Integer> pending = new ArrayList<>(Math.min(batchSize, documents.size()));
+        for (int i = 0; i < documents.size(); i++) {
+            JournalDocument document = documents.get(i);
+            if (document.getLines().isEmpty()) {
+                continue;
+            }
+
+            validate(document);
+            pending.add(i);
+
+            if (pending.size() >= batchSize) {
+                flush(documents, pending, journalEntryIds);
+                pending.clear();
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            flush(documents, pending, journalEntryIds);
+        }
+
+        return journalEntryIds;
+    }
+
+    /**
+     * Write the buffered documents at the given positions and store their ids at the same positions
+     */
+    private void flush(List<JournalDocument> documents, List<Integer> positions, List<Long> journalEntryIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> entryArgs = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            JournalDocument document = documents.get(position);
+            entryArgs.add(new Object[]{document.getEntryNumber(), Date.valueOf(document.getEntryDate()),
+                    document.getDocumentType(), document.getDescription(), document.getReferenceNumber(),
+                    document.getTotalDebit(), document.getTotalCredit(), STATUS_POSTED, now,
+                    document.getPostedBy(), now, now, document.getPostedBy()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entryArgs);
+
+        Map<String, Long> idsByEntryNumber = findIdsByEntryNumber(documents, positions);
+
+        List<Object[]> lineArgs = new ArrayList<>();
+        for (int position : positions) {
+            JournalDocument document = documents.get(position);
+            Long journalEntryId = idsByEntryNumber.get(document.getEntryNumber());
+            if (journalEntryId == null) {
+                throw new BusinessException("Journal entry " + document.getEntryNumber() + " was not written");
+            }
+            journalEntryIds.set(position, journalEntryId);
+
+            int lineNumber = 1;
+            for (JournalDocumentLine line : document.getLines()) {
+                lineArgs.add(new Object[]{journalEntryId, lineNumber++, line.getAccountId(),
+                        line.getDebitAmount(), line.getCreditAmount(), line.getDescription()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE, lineArgs);
+
+        log.info("Wrote {} journal entries with {} lines", positions.size(), lineArgs.size());
+    }
+
+    private Map<String, Long> findIdsByEntryNumber(List<JournalDocument> documents, List<Integer> positions) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT journal_entry_id, entry_number FROM journal_entries WHERE entry_number IN (");
+        Object[] entryNumbers = new Object[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            entryNumbers[i] = documents.get(positions.get(i)).getEntryNumber();
+        }
+        sql.append(")");
+
+        Map<String, Long> idsByEntryNumber = new HashMap<>(positions.size() * 2);
+        jdbcTemplate.query(sql.toString(), rs -> {
+            idsByEntryNumber.put(rs.getString(2), rs.getLong(1));
+        }, entryNumbers);
+
+        return idsByEntryNumber;
+    }
+
+    private void validate(JournalDocument document) {
+        for (JournalDocumentLine line : document.getLines()) {
+            if (line.getAccountId() == null) {
+                throw new BusinessException("Journal entry " + document.getEntryNumber() +
+                        " has a line without GL account");
+            }
+        }
+
+        if (document.getTotalDebit().compareTo(document.getTotalCredit()) != 0) {
+            throw new BusinessException("Journal entry " + document.getEntryNumber() + " is not balanced: debit " +
+                    document.getTotalDebit() + ", credit " + document.getTotalCredit());
+        }
+    }
+}
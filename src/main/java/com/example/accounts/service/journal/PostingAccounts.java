@@ -0,0 +1,99 @@
+package com.example.accounts.service.journal;
+
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.exception.BusinessException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GL accounts fixed asset postings use on the other side of the asset's own accounts.
+ * Configured by account code (defaults from the seeded chart of accounts) and resolved to ids once.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostingAccounts {
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private final Map<String, Long> accountIdsByCode = new ConcurrentHashMap<>();
+
+    @Value("${fixed-assets.gl.fixed-assets-acquired:1010500}")
+    private String fixedAssetsAcquiredCode;
+
+    @Value("${fixed-assets.gl.trade-payables:5020100}")
+    private String tradePayablesCode;
+
+    @Value("${fixed-assets.gl.impairment:1010300}")
+    private String impairmentCode;
+
+    @Value("${fixed-assets.gl.revaluation-reserve:3060000}")
+    private String revaluationReserveCode;
+
+    @Value("${fixed-assets.gl.held-for-sale:2070100}")
+    private String heldForSaleCode;
+
+    @Value("${fixed-assets.gl.receivables:2030100}")
+    private String receivablesCode;
+
+    @Value("${fixed-assets.gl.other-expenses:7040000}")
+    private String otherExpensesCode;
+
+    @Value("${fixed-assets.gl.other-income:6020000}")
+    private String otherIncomeCode;
+
+    /**
+     * Fixed Assets Acquired: acquisition cost collected before the asset is put into service
+     */
+    public Long fixedAssetsAcquired() {
+        return resolve(fixedAssetsAcquiredCode);
+    }
+
+    public Long tradePayables() {
+        return resolve(tradePayablesCode);
+    }
+
+    public Long impairment() {
+        return resolve(impairmentCode);
+    }
+
+    public Long revaluationReserve() {
+        return resolve(revaluationReserveCode);
+    }
+
+    /**
+     * Held for sale account, unless the asset has its own
+     */
+    public Long heldForSale(ChartOfAccount assetHeldForSaleAccount) {
+        return assetHeldForSaleAccount != null ? assetHeldForSaleAccount.getAccountId() : resolve(heldForSaleCode);
+    }
+
+    public Long receivables() {
+        return resolve(receivablesCode);
+    }
+
+    /**
+     * Losses on disposal and impairment
+     */
+    public Long otherExpenses() {
+        return resolve(otherExpensesCode);
+    }
+
+    /**
+     * Gains on disposal
+     */
+    public Long otherIncome() {
+        return resolve(otherIncomeCode);
+    }
+
+    private Long resolve(String accountCode) {
+        return accountIdsByCode.computeIfAbsent(accountCode, code -> chartOfAccountRepository.findByAccountCode(code)
+                .map(ChartOfAccount::getAccountId)
+                .orElseThrow(() -> new BusinessException(
+                        "GL account " + code + " used for fixed asset postings not found")));
+    }
+}
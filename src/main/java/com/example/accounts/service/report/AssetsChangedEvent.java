@@ -0,0 +1,35 @@
+package com.example.accounts.service.report;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the services that post changes to assets: the reports over the changed assets are out of date
+ * once the posting commits. Without asset ids, any asset may have changed.
+ */
+public class AssetsChangedEvent {
+
+    private final Collection<Long> assetIds;
+
+    public AssetsChangedEvent(Collection<Long> assetIds) {
+        this.assetIds = assetIds;
+    }
+
+    public static AssetsChangedEvent of(Long assetId) {
+        return new AssetsChangedEvent(List.of(assetId));
+    }
+
+    /**
+     * Change of assets not known one by one, such as a set-based update or a change of a shared class
+     */
+    public static AssetsChangedEvent all() {
+        return new AssetsChangedEvent(null);
+    }
+
+    /**
+     * Ids of the changed assets, or null if any asset may have changed
+     */
+    public Collection<Long> getAssetIds() {
+        return assetIds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.accounts.service.report;
+
+import com.example.accounts.util.CsvWriter;
+import com.example.accounts.util.StreamingXlsxWriter;
+import com.example.accounts.util.TabularWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * File formats reports can be exported to, each written row by row to the response stream
+ */
+public enum ExportFormat {
+
+    CSV("text/csv; charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Writer of this format over a stream, buffering at most the given number of characters
+     */
+    public TabularWriter open(OutputStream out, String sheetName, int bufferSize) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvWriter(out, bufferSize);
+            case XLSX -> new StreamingXlsxWriter(out, sheetName, bufferSize);
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.accounts.service.report;
+
+import com.example.accounts.dto.ReportCacheStatsResponse;
+import com.example.accounts.util.BoundedTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of computed reports, keyed by report and parameter, bounded in size and time to live.
+ * Reports listing a line per asset of the portfolio are kept apart, capped to a few entries.
+ * Portfolio-wide reports, whatever their parameters, are invalidated by any committed asset change;
+ * per-asset reports are invalidated only by changes of their asset.
+ */
+@Component
+@Slf4j
+public class ReportCache {
+
+    public static final String SUMMARY = "summary";
+    public static final String DEPRECIATION_SCHEDULE = "depreciation-schedule";
+    public static final String ASSET_DEPRECIATION_SCHEDULE = "asset-depreciation-schedule";
+    public static final String DEPRECIATION_STATEMENT = "depreciation-statement";
+
+    private static final Set<String> PORTFOLIO_REPORTS = Set.of(SUMMARY, DEPRECIATION_SCHEDULE, DEPRECIATION_STATEMENT);
+    private static final Set<String> LINE_REPORTS = Set.of(DEPRECIATION_SCHEDULE, DEPRECIATION_STATEMENT);
+
+    private final boolean enabled;
+    private final BoundedTtlCache<ReportKey, Object> cache;
+    private final BoundedTtlCache<ReportKey, Object> lineCache;
+
+    public ReportCache(
+            @Value("${fixed-assets.reports.cache.enabled:true}") boolean enabled,
+            @Value("${fixed-assets.reports.cache.max-entries:1000}") int maxEntries,
+            @Value("${fixed-assets.reports.cache.max-line-entries:4}") int maxLineEntries,
+            @Value("${fixed-assets.reports.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new BoundedTtlCache<>(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds));
+        this.lineCache = new BoundedTtlCache<>(maxLineEntries, TimeUnit.SECONDS.toNanos(ttlSeconds));
+    }
+
+    /**
+     * Cached report, computing it on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, Object parameter, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        BoundedTtlCache<ReportKey, Object> target = LINE_REPORTS.contains(report) ? lineCache : cache;
+        return (T) target.get(new ReportKey(report, parameter), loader::get);
+    }
+
+    /**
+     * Invalidate the reports over assets whose change has just committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAssetsChanged(AssetsChangedEvent event) {
+        if (event.getAssetIds() == null) {
+            clear();
+            return;
+        }
+
+        cache.invalidateIf(key -> PORTFOLIO_REPORTS.contains(key.report));
+        lineCache.invalidateIf(key -> true);
+        for (Long assetId : event.getAssetIds()) {
+            cache.invalidate(new ReportKey(ASSET_DEPRECIATION_SCHEDULE, assetId));
+        }
+    }
+
+    /**
+     * Drop all cached reports
+     */
+    public int clear() {
+        int removed = cache.invalidateIf(key -> true) + lineCache.invalidateIf(key -> true);
+        log.debug("Cleared {} cached reports", removed);
+        return removed;
+    }
+
+    public ReportCacheStatsResponse getStats() {
+        ReportCacheStatsResponse stats = new ReportCacheStatsResponse();
+        stats.setEnabled(enabled);
+        stats.setSize(cache.size() + lineCache.size());
+        stats.setMaxEntries(cache.getMaxEntries());
+        stats.setMaxLineEntries(lineCache.getMaxEntries());
+        stats.setTtlSeconds(TimeUnit.NANOSECONDS.toSeconds(cache.getTtlNanos()));
+
+        long hits = cache.getHits() + lineCache.getHits();
+        long misses = cache.getMisses() + lineCache.getMisses();
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setHitRate(hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        stats.setEvictions(cache.getEvictions() + lineCache.getEvictions());
+        stats.setExpirations(cache.getExpirations() + lineCache.getExpirations());
+        stats.setInvalidations(cache.getInvalidations() + lineCache.getInvalidations());
+        return stats;
+    }
+
+    private static class ReportKey {
+
+        private final String report;
+        private final Object parameter;
+
+        ReportKey(String report, Object parameter) {
+            this.report = report;
+            this.parameter = parameter;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ReportKey key)) {
+                return false;
+            }
+            return report.equals(key.report) && Objects.equals(parameter, key.parameter);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * report.hashCode() + Objects.hashCode(parameter);
+        }
+    }
+}
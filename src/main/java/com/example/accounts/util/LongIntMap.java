@@ -0,0 +1,128 @@
+package com.example.accounts.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive int values.
+ * Holds large id lookups without boxing a Long and an Integer per entry.
+ * Not thread-safe for writes; safe for concurrent reads once fully populated.
+ */
+public class LongIntMap {
+
+    private static final long FREE_KEY = 0L;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    // The free-slot marker can itself be used as a key, so it is stored outside the table
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    public LongIntMap(int expectedSize) {
+        allocate(capacityFor(Math.max(expectedSize, 1)));
+    }
+
+    /**
+     * Associate a value with a key, replacing any previous value
+     */
+    public void put(long key, int value) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                size++;
+            }
+            hasFreeKey = true;
+            freeKeyValue = value;
+            return;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] == FREE_KEY) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Get the value for a key, or the default value if the key is absent
+     */
+    public int get(long key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : defaultValue;
+        }
+
+        int index = indexOf(key);
+        return keys[index] == FREE_KEY ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(long key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return keys[indexOf(key)] != FREE_KEY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Slot holding the key, or the free slot where it would be inserted (linear probing)
+     */
+    private int indexOf(long key) {
+        int index = hash(key) & mask;
+        while (keys[index] != FREE_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("LongIntMap cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, FREE_KEY);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Power-of-two table size keeping the load factor at or below one half
+     */
+    private static int capacityFor(int expectedSize) {
+        long capacity = Long.highestOneBit(Math.max(expectedSize * 2L - 1, 1)) << 1;
+        return (int) Math.min(Math.max(capacity, 16), MAX_CAPACITY);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.accounts.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts as plain longs with a fixed scale of 4 (the scale of all amount columns),
+ * so that 12.3456 is held as 123456. Arithmetic allocates nothing and throws ArithmeticException on overflow.
+ * Convert with {@link #of(BigDecimal)} and {@link #toBigDecimal(long)} at the persistence boundary only.
+ */
+public final class ScaledMoney {
+
+    public static final int SCALE = 4;
+    public static final long ZERO = 0L;
+    public static final long ONE = 10_000L;
+
+    private ScaledMoney() {
+    }
+
+    /**
+     * Scaled value of an amount; null is zero. Amounts with more than 4 decimals are rounded HALF_UP,
+     * as they would be when stored.
+     */
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Amount times a whole number, e.g. a per-unit rate times units used; exact, as with BigDecimal
+     */
+    public static long multiply(long scaled, long factor) {
+        return Math.multiplyExact(scaled, factor);
+    }
+
+    /**
+     * Amount divided by a whole number, rounded to 4 decimals HALF_UP.
+     * Same result as {@code amount.divide(BigDecimal.valueOf(divisor), 4, RoundingMode.HALF_UP)}.
+     */
+    public static long divide(long scaled, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        long quotient = scaled / divisor;
+        long remainder = Math.abs(scaled % divisor);
+
+        // Round half away from zero
+        if (remainder != 0 && remainder >= Math.abs(divisor) - remainder) {
+            quotient += (scaled < 0) == (divisor < 0) ? 1 : -1;
+        }
+
+        return quotient;
+    }
+}
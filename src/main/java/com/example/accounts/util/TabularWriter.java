@@ -0,0 +1,18 @@
+package com.example.accounts.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writer of a table row by row, for exports streamed straight to an output stream.
+ * Values are written as numbers when they are {@link Number}s and as text otherwise; nulls are empty cells.
+ */
+public interface TabularWriter extends Closeable {
+
+    void writeRow(Object... values) throws IOException;
+
+    /**
+     * Push the rows written so far down to the underlying stream
+     */
+    void flush() throws IOException;
+}